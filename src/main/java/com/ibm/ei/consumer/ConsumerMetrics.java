@@ -0,0 +1,57 @@
+package com.ibm.ei.consumer;
+
+import com.ibm.ei.utils.Histogram;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** End-to-end latency and per-producer sequence tracking shared by the consumer threads. */
+public class ConsumerMetrics {
+
+  private final Histogram latencyMicros = new Histogram();
+  private final LongAdder stamped = new LongAdder();
+  private final LongAdder unstamped = new LongAdder();
+  private final LongAdder clockSkewed = new LongAdder();
+  private final Map<String, SequenceTracker> producers = new ConcurrentHashMap<>();
+  private volatile long lastRecordNanos = System.nanoTime();
+
+  void record(String producerId, int partition, long sequence, long latencyMicros) {
+    if (latencyMicros < 0) {
+      clockSkewed.increment();
+    }
+    this.latencyMicros.record(latencyMicros);
+    producers.computeIfAbsent(producerId, id -> new SequenceTracker()).record(partition, sequence);
+    stamped.increment();
+    lastRecordNanos = System.nanoTime();
+  }
+
+  void recordUnstamped() {
+    unstamped.increment();
+    lastRecordNanos = System.nanoTime();
+  }
+
+  public Histogram getLatencyMicros() {
+    return latencyMicros;
+  }
+
+  public long getStamped() {
+    return stamped.sum();
+  }
+
+  public long getUnstamped() {
+    return unstamped.sum();
+  }
+
+  public long getClockSkewed() {
+    return clockSkewed.sum();
+  }
+
+  public long getLastRecordNanos() {
+    return lastRecordNanos;
+  }
+
+  Map<String, SequenceTracker> getProducers() {
+    return new TreeMap<>(producers);
+  }
+}
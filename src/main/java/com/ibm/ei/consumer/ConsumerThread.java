@@ -0,0 +1,73 @@
+package com.ibm.ei.consumer;
+
+import com.ibm.ei.utils.TraceHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ConsumerThread extends Thread {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConsumerThread.class);
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+  private final KafkaConsumer<byte[], byte[]> consumer;
+  private final String topic;
+  private final ConsumerMetrics metrics;
+  private final AtomicBoolean running = new AtomicBoolean(true);
+
+  ConsumerThread(String threadName, Properties props, String topic, ConsumerMetrics metrics) {
+    super(threadName);
+    this.consumer =
+        new KafkaConsumer<>(props, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+    this.topic = topic;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void run() {
+    try {
+      consumer.subscribe(Collections.singletonList(topic));
+      while (running.get()) {
+        for (ConsumerRecord<byte[], byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+          final long now = TraceHeaders.nowMicros();
+          final Headers headers = record.headers();
+          final Header producerId = headers.lastHeader(TraceHeaders.PRODUCER_ID);
+          final Header sequence = headers.lastHeader(TraceHeaders.SEQUENCE);
+          final Header sendTime = headers.lastHeader(TraceHeaders.SEND_TIME);
+
+          if (Objects.isNull(producerId) || Objects.isNull(sequence) || Objects.isNull(sendTime)) {
+            metrics.recordUnstamped();
+            continue;
+          }
+          metrics.record(
+              new String(producerId.value(), StandardCharsets.UTF_8),
+              record.partition(),
+              TraceHeaders.decode(sequence.value()),
+              now - TraceHeaders.decode(sendTime.value()));
+        }
+      }
+    } catch (WakeupException e) {
+      // Expected when shutting down
+    } catch (RuntimeException e) {
+      logger.error("Failed to consume records", e);
+    } finally {
+      consumer.close();
+    }
+  }
+
+  public void shutdown() {
+    running.set(false);
+    consumer.wakeup();
+  }
+}
@@ -0,0 +1,108 @@
+package com.ibm.ei.consumer;
+
+import com.ibm.ei.producer.config.EndToEndConsumerConfig;
+import com.ibm.ei.utils.Histogram;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumes records stamped by producers run with --stamp-headers and reports their end-to-end
+ * latency, along with any lost, duplicated or reordered records from each producer.
+ */
+public class EndToEndConsumer {
+
+  private static final Logger logger = LoggerFactory.getLogger(EndToEndConsumer.class);
+  private static final long CHECK_INTERVAL_MILLIS = 100;
+
+  private final EndToEndConsumerConfig config;
+  private final ConsumerMetrics metrics = new ConsumerMetrics();
+
+  public EndToEndConsumer(EndToEndConsumerConfig config) {
+    this.config = config;
+  }
+
+  public ConsumerMetrics run() throws IOException, InterruptedException {
+    Properties props = Utils.loadProps(config.getConfigFilePath());
+    props.putIfAbsent(ConsumerConfig.GROUP_ID_CONFIG, config.getGroupId());
+
+    List<ConsumerThread> consumers = new ArrayList<>();
+    logger.info(
+        "Starting {} consumers in group {}",
+        config.getNumThreads(),
+        props.getProperty(ConsumerConfig.GROUP_ID_CONFIG));
+    for (int i = 0; i < config.getNumThreads(); i++) {
+      ConsumerThread consumer =
+          new ConsumerThread(String.format("consumer%d", i), props, config.getTopic(), metrics);
+      consumer.start();
+      consumers.add(consumer);
+    }
+
+    final long start = System.nanoTime();
+    final long timeout = TimeUnit.SECONDS.toNanos(config.getTimeout());
+    long lastProgress = 0;
+    while (metrics.getStamped() < config.getNumRecords()
+        && System.nanoTime() - metrics.getLastRecordNanos() < timeout) {
+      Thread.sleep(CHECK_INTERVAL_MILLIS);
+      long progress = metrics.getStamped() * 10 / Math.max(1, config.getNumRecords());
+      if (progress > lastProgress) {
+        logger.info("{}%", progress * 10);
+        lastProgress = progress;
+      }
+    }
+
+    consumers.forEach(ConsumerThread::shutdown);
+    for (ConsumerThread consumer : consumers) {
+      consumer.join();
+    }
+    report((System.nanoTime() - start) / 1e9);
+    return metrics;
+  }
+
+  private void report(double seconds) {
+    final Histogram latency = metrics.getLatencyMicros();
+    logger.info(
+        "Consumed {} stamped records in {} s ({} records/s), ignored {} unstamped records",
+        metrics.getStamped(),
+        Math.round(seconds),
+        Math.round(metrics.getStamped() / Math.max(seconds, 1e-9)),
+        metrics.getUnstamped());
+    logger.info(
+        "End-to-end latency (ms): p50 {}, p90 {}, p99 {}, p99.9 {}, max {}, mean {}",
+        latency.percentile(50) / 1000.0,
+        latency.percentile(90) / 1000.0,
+        latency.percentile(99) / 1000.0,
+        latency.percentile(99.9) / 1000.0,
+        latency.getMax() / 1000.0,
+        Math.round(latency.getMean()) / 1000.0);
+    if (metrics.getClockSkewed() > 0) {
+      logger.warn(
+          "{} records arrived before they were sent; check the producer and consumer clocks are"
+              + " in sync",
+          metrics.getClockSkewed());
+    }
+
+    logger.info(
+        String.format(
+            "%-24s %12s %10s %10s %10s",
+            "producer", "received", "missing", "duplicates", "reordered"));
+    for (Map.Entry<String, SequenceTracker> producer : metrics.getProducers().entrySet()) {
+      SequenceTracker tracker = producer.getValue();
+      logger.info(
+          String.format(
+              "%-24s %12d %10d %10d %10d",
+              producer.getKey(),
+              tracker.getReceived(),
+              tracker.getMissing(),
+              tracker.getDuplicates(),
+              tracker.getReordered()));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.ibm.ei.consumer;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks the sequence numbers received from one producer. Kafka only orders records within a
+ * partition, so a record counts as reordered if it arrives after a higher sequence from the same
+ * producer on the same partition.
+ */
+class SequenceTracker {
+
+  private final BitSet seen = new BitSet();
+  private final Map<Integer, Long> highestByPartition = new HashMap<>();
+  private long received = 0;
+  private long duplicates = 0;
+  private long reordered = 0;
+  private long highest = -1;
+
+  synchronized void record(int partition, long sequence) {
+    received++;
+    if (sequence < 0 || sequence > Integer.MAX_VALUE) {
+      return;
+    }
+    if (seen.get((int) sequence)) {
+      duplicates++;
+      return;
+    }
+    seen.set((int) sequence);
+    highest = Math.max(highest, sequence);
+
+    final Long partitionHighest = highestByPartition.get(partition);
+    if (partitionHighest != null && sequence < partitionHighest) {
+      reordered++;
+    } else {
+      highestByPartition.put(partition, sequence);
+    }
+  }
+
+  synchronized long getReceived() {
+    return received;
+  }
+
+  /** Sequences below the highest received that never arrived. Loss at the tail is not visible. */
+  synchronized long getMissing() {
+    return highest + 1 - seen.cardinality();
+  }
+
+  synchronized long getDuplicates() {
+    return duplicates;
+  }
+
+  synchronized long getReordered() {
+    return reordered;
+  }
+}
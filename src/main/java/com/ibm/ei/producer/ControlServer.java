@@ -0,0 +1,136 @@
+package com.ibm.ei.producer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A small HTTP API, bound to the loopback address, for changing a run while it is in progress.
+ *
+ * <ul>
+ *   <li>{@code GET /status}
+ *   <li>{@code POST /throughput?value=N} - records per second per producer, -1 for unthrottled
+ *   <li>{@code POST /producers?count=N}
+ *   <li>{@code POST /pause} and {@code POST /resume}
+ * </ul>
+ *
+ * Every response is the status after the request as JSON.
+ */
+public class ControlServer {
+
+  private static final Logger logger = LoggerFactory.getLogger(ControlServer.class);
+
+  private final HttpServer server;
+  private final RunControl control;
+  private final ProducerPool pool;
+
+  public ControlServer(int port, RunControl control, ProducerPool pool) throws IOException {
+    this.control = control;
+    this.pool = pool;
+    this.server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+    server.createContext("/status", exchange -> respond(exchange, "GET", () -> {}));
+    server.createContext(
+        "/throughput",
+        exchange ->
+            respond(
+                exchange,
+                "POST",
+                () -> {
+                  int throughput = intParam(exchange, "value");
+                  if (throughput < 1 && throughput != -1) {
+                    throw new IllegalArgumentException("value must be -1 or a positive integer");
+                  }
+                  control.setThroughput(throughput);
+                }));
+    server.createContext(
+        "/producers",
+        exchange ->
+            respond(
+                exchange,
+                "POST",
+                () -> {
+                  int count = intParam(exchange, "count");
+                  if (count < 0) {
+                    throw new IllegalArgumentException("count must not be negative");
+                  }
+                  pool.resize(count);
+                }));
+    server.createContext(
+        "/pause", exchange -> respond(exchange, "POST", () -> control.setPaused(true)));
+    server.createContext(
+        "/resume", exchange -> respond(exchange, "POST", () -> control.setPaused(false)));
+  }
+
+  public void start() {
+    server.start();
+    logger.info(
+        "Control API listening on http://{}:{}",
+        server.getAddress().getHostString(),
+        server.getAddress().getPort());
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  private void respond(HttpExchange exchange, String method, Runnable action) throws IOException {
+    int status = 200;
+    JSONObject body;
+    try {
+      if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+        status = 405;
+        body = new JSONObject().put("error", "Use " + method);
+      } else {
+        action.run();
+        body = status();
+      }
+    } catch (IllegalArgumentException e) {
+      status = 400;
+      body = new JSONObject().put("error", e.getMessage());
+    }
+
+    final byte[] response = body.toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, response.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(response);
+    }
+  }
+
+  private JSONObject status() {
+    return new JSONObject()
+        .put("throughput", control.getThroughput())
+        .put("producers", pool.getActiveCount())
+        .put("paused", control.isPaused())
+        .put("sent", pool.messageCount())
+        .put("effectiveThroughput", Math.round(control.getEffectiveThroughput()));
+  }
+
+  private static int intParam(HttpExchange exchange, String name) {
+    final Map<String, String> params = new HashMap<>();
+    final String query = Optional.ofNullable(exchange.getRequestURI().getRawQuery()).orElse("");
+    for (String pair : query.split("&")) {
+      final String[] keyValue = pair.split("=", 2);
+      if (keyValue.length == 2) {
+        params.put(keyValue[0], keyValue[1]);
+      }
+    }
+    try {
+      return Integer.parseInt(params.get(name));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format("%s must be an integer", name));
+    }
+  }
+}
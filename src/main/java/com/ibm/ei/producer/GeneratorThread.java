@@ -0,0 +1,53 @@
+package com.ibm.ei.producer;
+
+import com.ibm.ei.utils.RingBuffer;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Publishes generated records to the producer threads through the ring. */
+public class GeneratorThread extends Thread {
+
+  private static final Logger logger = LoggerFactory.getLogger(GeneratorThread.class);
+
+  static final int BATCH_SIZE = 64;
+
+  private final RecordGenerator records;
+  private final RingBuffer<String> ring;
+  private volatile Exception failure;
+
+  GeneratorThread(RecordGenerator records, RingBuffer<String> ring) {
+    super("generator");
+    this.records = records;
+    this.ring = ring;
+  }
+
+  @Override
+  public void run() {
+    logger.info("Generating messages");
+    try {
+      while (records.remaining() > 0) {
+        final int batch =
+            (int) Math.min(Math.min(BATCH_SIZE, ring.getCapacity()), records.remaining());
+        final long highest = ring.claim(batch);
+        for (long sequence = highest - batch + 1; sequence <= highest; sequence++) {
+          ring.set(sequence, records.next());
+        }
+        ring.publish(highest);
+      }
+    } catch (IOException | RuntimeException e) {
+      // Invalid JSON or bad helper arguments in the template end the run as a failure.
+      failure = e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      ring.complete();
+    }
+    records.logSummary();
+  }
+
+  /** The error that stopped generation early, or null if every record was generated. */
+  public Exception getFailure() {
+    return failure;
+  }
+}
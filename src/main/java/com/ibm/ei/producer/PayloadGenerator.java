@@ -1,22 +1,30 @@
 package com.ibm.ei.producer;
 
 import com.github.javafaker.Faker;
+import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Options;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.io.FileTemplateLoader;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import com.ibm.ei.producer.config.PayloadConfig;
+import com.ibm.ei.utils.AppendableWriter;
 import com.ibm.ei.utils.FakeDate;
 import com.ibm.ei.utils.FakeNumber;
+import com.ibm.ei.utils.Filler;
+import com.ibm.ei.utils.SizeDistribution;
 import com.ibm.ei.utils.ThrowingFunction;
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,22 +39,32 @@ public class PayloadGenerator {
   private static final String ARGS_SEQUENTIAL = "sequential";
   private static final String ARGS_INCREMENT = "increment";
   private static final String ARGS_ID = "id";
+  private static final String ARGS_SIZE = "size";
+  private static final String ARGS_COUNT = "count";
+  private static final String ARGS_SEPARATOR = "separator";
+  private static final String ARGS_PROBABILITY = "p";
+  private static final String FILLER_FIELD = "_filler";
 
   private final Handlebars handlebars;
   private final Faker faker = new Faker();
   private final File path;
+  private final SizeDistribution recordSize;
+  private final Template template;
 
-  public PayloadGenerator(PayloadConfig config) {
+  public PayloadGenerator(PayloadConfig config) throws IOException {
     this.path = new File(config.getTemplateFilePath());
 
     TemplateLoader loader = new FileTemplateLoader(path.getParent(), "");
     this.handlebars = new Handlebars(loader);
+    this.recordSize =
+        Optional.ofNullable(config.getRecordSize()).map(SizeDistribution::parse).orElse(null);
 
     Map<Integer, FakeDate> fakeDates = new HashMap<>();
     Map<Integer, FakeDate> fakeTimestamps = new HashMap<>();
     Map<Integer, FakeNumber> fakeInts = new HashMap<>();
     Map<Integer, FakeNumber> fakeLongs = new HashMap<>();
     Map<Integer, FakeNumber> fakeDoubles = new HashMap<>();
+    Map<String, SizeDistribution> fillerSizes = new HashMap<>();
 
     handlebars.registerHelper(
         "fake-date",
@@ -170,6 +188,56 @@ public class PayloadGenerator {
     handlebars.registerHelper("fake-firstName", (o, options) -> faker.name().firstName());
     handlebars.registerHelper("fake-lastName", (o, options) -> faker.name().lastName());
     handlebars.registerHelper("fake-fullName", (o, options) -> faker.name().fullName());
+    handlebars.registerHelper(
+        "filler",
+        (o, options) -> {
+          Object size = options.hash(ARGS_SIZE);
+          if (Objects.isNull(size)) {
+            throw new IllegalArgumentException("filler requires a size, e.g. size=1024");
+          }
+          SizeDistribution distribution =
+              fillerSizes.computeIfAbsent(size.toString(), SizeDistribution::parse);
+          return new Handlebars.SafeString(Filler.of(distribution.next()));
+        });
+    handlebars.registerHelper(
+        "repeat",
+        (o, options) -> {
+          int min = options.hash(ARGS_MIN, 0);
+          int max = options.hash(ARGS_MAX, min);
+          int count =
+              options.hash(
+                  ARGS_COUNT, ThreadLocalRandom.current().nextInt(min, Math.max(min, max) + 1));
+          String separator = options.hash(ARGS_SEPARATOR, ",");
+
+          // Render each item straight into the enclosing output rather than into a String.
+          Options.Buffer buffer = options.buffer();
+          Writer writer = new AppendableWriter(buffer);
+          for (int i = 0; i < count; i++) {
+            if (i > 0) {
+              writer.write(separator);
+            }
+            // Each item gets its own @index, so nested blocks don't overwrite the outer one.
+            options.fn.apply(
+                Context.newContext(options.context, options.context.model()).combine("@index", i),
+                writer);
+          }
+          return buffer;
+        });
+    handlebars.registerHelper(
+        "maybe",
+        (o, options) -> {
+          // p=1 parses as an integer and p="0.3" as a string, so go through the text of either.
+          Object p = options.hash(ARGS_PROBABILITY, 0.5);
+          double probability = Double.parseDouble(p.toString());
+          if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException(
+                "maybe requires p between 0 and 1, e.g. p=0.3, but got " + probability);
+          }
+          Options.Buffer buffer = options.buffer();
+          (ThreadLocalRandom.current().nextDouble() < probability ? options.fn : options.inverse)
+              .apply(options.context, new AppendableWriter(buffer));
+          return buffer;
+        });
     handlebars.registerHelper(
         "oneof",
         (o, options) -> {
@@ -177,6 +245,8 @@ public class PayloadGenerator {
           int index = Long.valueOf(Math.round(Math.random() * (choices.length - 1))).intValue();
           return choices[index];
         });
+
+    this.template = handlebars.compile(path.getName());
   }
 
   private Timestamp timestamp(Date time) {
@@ -187,9 +257,34 @@ public class PayloadGenerator {
     return timestamp(faker.date().between(start, end));
   }
 
-  public String generatePayload() throws IOException {
+  /**
+   * Pads a flattened JSON object with a filler field so that its UTF-8 encoding reaches the next
+   * size from the configured record size distribution.
+   */
+  public String pad(String record) {
+    if (recordSize == null) {
+      return record;
+    }
+    final int end = record.lastIndexOf('}');
+    if (end < 0) {
+      return record;
+    }
+    final String prefix = (end == 1 ? "" : ",") + "\"" + FILLER_FIELD + "\":\"";
+    final int padding =
+        recordSize.next() - Filler.utf8Length(record) - prefix.length() - "\"".length();
+    if (padding < 0) {
+      return record;
+    }
+    return new StringBuilder(record.length() + prefix.length() + padding + 1)
+        .append(record, 0, end)
+        .append(prefix)
+        .append(Filler.of(padding))
+        .append('"')
+        .append(record, end, record.length())
+        .toString();
+  }
 
-    Template template = handlebars.compile(path.getName());
+  public String generatePayload() throws IOException {
     return template.apply(null);
   }
 }
@@ -0,0 +1,89 @@
+package com.ibm.ei.producer;
+
+import com.ibm.ei.producer.sink.SinkFactory;
+import com.ibm.ei.utils.RingBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/** The producer threads sending records from the ring, which can be grown or shrunk mid-run. */
+public class ProducerPool {
+
+  private final ThreadGroup producersGroup = new ThreadGroup("Producers");
+  private final List<ProducerThread> producers = new ArrayList<>();
+  private final RunControl control;
+  private final SinkFactory sinkFactory;
+  private final SendMetrics metrics;
+  private final RingBuffer<String> ring;
+
+  public ProducerPool(
+      RunControl control, SinkFactory sinkFactory, SendMetrics metrics, RingBuffer<String> ring) {
+    this.control = control;
+    this.sinkFactory = sinkFactory;
+    this.metrics = metrics;
+    this.ring = ring;
+  }
+
+  /** Starts or stops producers until {@code count} are active. Stopped producers flush first. */
+  public synchronized void resize(int count) {
+    // The first call starts the run rather than changing it.
+    final boolean starting = producers.isEmpty();
+    final int previous = getActiveCount();
+    List<ProducerThread> active = activeProducers();
+    for (int i = active.size(); i < count; i++) {
+      ProducerThread producerThread =
+          new ProducerThread(
+              producersGroup,
+              String.format("producer%d", producers.size()),
+              control,
+              sinkFactory,
+              metrics,
+              ring);
+      producerThread.start();
+      producers.add(producerThread);
+    }
+    for (int i = active.size() - 1; i >= count; i--) {
+      active.get(i).shutdown();
+    }
+    if (!starting && previous != count) {
+      control.reportChange(String.format("Changed producers from %d to %d", previous, count));
+    }
+  }
+
+  public synchronized int getActiveCount() {
+    return activeProducers().size();
+  }
+
+  public synchronized int messageCount() {
+    return producers.stream().mapToInt(ProducerThread::messageCount).sum();
+  }
+
+  public synchronized int size() {
+    return producers.size();
+  }
+
+  /** Waits for every producer, including any started while waiting, to finish. */
+  public void awaitTermination() throws InterruptedException {
+    int joined = 0;
+    while (true) {
+      final ProducerThread next;
+      synchronized (this) {
+        if (joined == producers.size()) {
+          return;
+        }
+        next = producers.get(joined);
+      }
+      next.join();
+      joined++;
+    }
+  }
+
+  private List<ProducerThread> activeProducers() {
+    List<ProducerThread> active = new ArrayList<>();
+    for (ProducerThread producer : producers) {
+      if (producer.isActive()) {
+        active.add(producer);
+      }
+    }
+    return active;
+  }
+}
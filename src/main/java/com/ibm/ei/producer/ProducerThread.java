@@ -15,73 +15,80 @@
  */
 package com.ibm.ei.producer;
 
-import com.ibm.ei.producer.config.PayloadConfig;
-import com.ibm.ei.producer.config.ProducerConfig;
+import com.ibm.ei.producer.sink.Sink;
+import com.ibm.ei.producer.sink.SinkFactory;
+import com.ibm.ei.utils.RateLimiter;
+import com.ibm.ei.utils.RingBuffer;
+import com.ibm.ei.utils.WaitStrategy;
 import java.io.IOException;
-import java.util.Objects;
-import java.util.Properties;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.utils.Utils;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ProducerThread extends Thread {
 
-  private final BlockingQueue<String> messageQueue;
-  private final ProducerConfig producerConfig;
-  private final PayloadConfig payloadConfig;
+  private final RingBuffer<String> ring;
+  private final RunControl control;
+  private final SinkFactory sinkFactory;
+  private final SendMetrics metrics;
   private AtomicInteger numberRecordsSent = new AtomicInteger(0);
 
   private static final Logger logger = LoggerFactory.getLogger(ProducerThread.class);
-  private AtomicBoolean running = new AtomicBoolean(false);
+  private AtomicBoolean running = new AtomicBoolean(true);
 
   ProducerThread(
       ThreadGroup threadGroup,
       String threadName,
-      ProducerConfig producerConfig,
-      PayloadConfig payloadConfig,
-      BlockingQueue<String> messages) {
+      RunControl control,
+      SinkFactory sinkFactory,
+      SendMetrics metrics,
+      RingBuffer<String> ring) {
     super(threadGroup, threadName);
-    this.messageQueue = messages;
-    this.producerConfig = producerConfig;
-    this.payloadConfig = payloadConfig;
+    this.ring = ring;
+    this.control = control;
+    this.sinkFactory = sinkFactory;
+    this.metrics = metrics;
   }
 
   @Override
   public void run() {
-    running.set(true);
-    try {
-      Properties props = Utils.loadProps(this.producerConfig.getConfigFilePath());
-      final KafkaProducer<String, String> producer = new KafkaProducer<>(props);
-      int throughput = this.producerConfig.getThroughput();
+    try (RingBuffer<String>.Worker worker = ring.register()) {
+      final Sink sink = this.sinkFactory.create();
+      try {
+        final RateLimiter limiter = new RateLimiter(control.getThroughput());
+        final Consumer<String> send =
+            payload -> {
+              limiter.setRate(control.getThroughput());
+              limiter.acquire();
+              sink.send(payload, metrics.onSend());
+              this.numberRecordsSent.incrementAndGet();
+            };
 
-      while (running.get()) {
-        final int recordCount = this.numberRecordsSent.addAndGet(1);
-        if (recordCount > payloadConfig.getNumRecords() / producerConfig.getNumThreads()) {
-          running.set(false);
-          continue;
-        }
-
-        final String payload = this.messageQueue.poll();
-        if (Objects.isNull(payload)) {
-          running.set(false);
-          continue;
-        }
-
-        producer.send(new ProducerRecord<>(this.producerConfig.getTopic(), payload));
-
-        if (throughput > 0) {
-          int pause = Math.round(1000 / throughput);
-          try {
-            Thread.sleep(pause);
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Keep waiting while the generator catches up, and only stop once it has finished.
+        int idle = 0;
+        while (running.get()) {
+          if (control.isPaused()) {
+            WaitStrategy.PARK.idle(idle++);
+            continue;
+          }
+          // Throttled producers take one record at a time so rate changes and shutdowns apply
+          // quickly.
+          final int batch = control.getThroughput() > 0 ? 1 : GeneratorThread.BATCH_SIZE;
+          final int polled = worker.poll(batch, send);
+          if (polled < 0) {
+            running.set(false);
+          } else if (polled == 0) {
+            ring.getWaitStrategy().idle(idle++);
+          } else {
+            idle = 0;
           }
         }
+        sink.flush();
+      } finally {
+        // Stopped producers hand their sink back for the next one started, rather than leaking it.
+        this.sinkFactory.release(sink);
       }
     } catch (IOException e) {
       logger.error("Failed to send record", e);
@@ -100,6 +107,16 @@ public class ProducerThread extends Thread {
     return this.numberRecordsSent.get();
   }
 
+  /** Whether this producer is still taking records from the ring. */
+  public boolean isActive() {
+    return running.get() && isAlive();
+  }
+
+  /** Stops taking records and exits once the records already taken have been sent and flushed. */
+  public void shutdown() {
+    running.set(false);
+  }
+
   @Override
   public void interrupt() {
     running.set(false);
@@ -0,0 +1,70 @@
+package com.ibm.ei.producer;
+
+import com.ibm.ei.utils.Filler;
+import com.ibm.ei.utils.Histogram;
+import java.io.IOException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Renders a fixed number of flattened, padded records from the payload template. */
+public class RecordGenerator {
+
+  private static final Logger logger = LoggerFactory.getLogger(RecordGenerator.class);
+
+  private final PayloadGenerator generator;
+  private final int numRecords;
+  private final Histogram recordSizes = new Histogram();
+  private long generated = 0;
+  private long startNanos;
+
+  public RecordGenerator(PayloadGenerator generator, int numRecords) {
+    this.generator = generator;
+    this.numRecords = numRecords;
+  }
+
+  /** The number of records still to be generated. */
+  public long remaining() {
+    return numRecords - generated;
+  }
+
+  public String next() throws IOException {
+    if (generated == 0) {
+      startNanos = System.nanoTime();
+    }
+    final String record = generator.pad(new JSONObject(generator.generatePayload()).toString());
+    recordSizes.record(Filler.utf8Length(record));
+    if (generated % Math.max(1, numRecords / 10) == 0) {
+      logger.info("{}%", generated * 100 / numRecords);
+    }
+    generated++;
+    return record;
+  }
+
+  public void logSummary() {
+    final double seconds = (System.nanoTime() - startNanos) / 1e9;
+    logger.info(
+        "Generated {} records in {} ms ({} records/s)",
+        generated,
+        Math.round(seconds * 1000),
+        Math.round(generated / Math.max(seconds, 1e-9)));
+    logger.info(
+        "Record sizes (bytes): min {}, p50 {}, p90 {}, p99 {}, max {}, mean {}",
+        recordSizes.getMin(),
+        recordSizes.percentile(50),
+        recordSizes.percentile(90),
+        recordSizes.percentile(99),
+        recordSizes.getMax(),
+        Math.round(recordSizes.getMean()));
+    long[] counts = recordSizes.powerOfTwoCounts();
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] > 0) {
+        long lower = i == 0 ? 0 : 1L << (i - 1);
+        logger.info(
+            String.format(
+                "%10d - %-10d %10d (%.1f%%)",
+                lower, (1L << i) - 1, counts[i], 100.0 * counts[i] / recordSizes.getCount()));
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.ibm.ei.producer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Settings that can be changed while a run is in progress. Producer threads read them as they send,
+ * and every change is logged along with the effective throughput before and shortly after it.
+ */
+public class RunControl {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunControl.class);
+  private static final long SAMPLE_INTERVAL_MILLIS = 1000;
+  private static final long REPORT_DELAY_SECONDS = 5;
+
+  private final SendMetrics metrics;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "run-control");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private volatile int throughput;
+  private volatile boolean paused = false;
+  private volatile double effectiveThroughput = 0;
+  private long lastSent = 0;
+
+  public RunControl(int throughput, SendMetrics metrics) {
+    this.throughput = throughput;
+    this.metrics = metrics;
+    scheduler.scheduleAtFixedRate(
+        this::sample, SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /** The target records per second for each producer, or -1 for unthrottled. */
+  public int getThroughput() {
+    return throughput;
+  }
+
+  public void setThroughput(int throughput) {
+    final int previous = this.throughput;
+    this.throughput = throughput;
+    reportChange(
+        String.format("Changed throughput per producer from %d to %d", previous, throughput));
+  }
+
+  public boolean isPaused() {
+    return paused;
+  }
+
+  public void setPaused(boolean paused) {
+    if (this.paused != paused) {
+      this.paused = paused;
+      reportChange(paused ? "Paused" : "Resumed");
+    }
+  }
+
+  /** Records sent per second over the last sample interval, across all producers. */
+  public double getEffectiveThroughput() {
+    return effectiveThroughput;
+  }
+
+  void reportChange(String change) {
+    final double before = effectiveThroughput;
+    logger.info("{}; effective throughput was {} records/s", change, Math.round(before));
+    scheduler.schedule(
+        () ->
+            logger.info(
+                "Effective throughput {}s after change ({}): {} records/s, was {} records/s",
+                REPORT_DELAY_SECONDS,
+                change,
+                Math.round(effectiveThroughput),
+                Math.round(before)),
+        REPORT_DELAY_SECONDS,
+        TimeUnit.SECONDS);
+  }
+
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void sample() {
+    final long sent = metrics.getSent();
+    effectiveThroughput = (sent - lastSent) * 1000.0 / SAMPLE_INTERVAL_MILLIS;
+    lastSent = sent;
+  }
+}
@@ -16,27 +16,33 @@
 package com.ibm.ei.producer;
 
 import static com.ibm.ei.utils.Configuration.BATCH_MODE;
+import static com.ibm.ei.utils.Configuration.CONSUMER_MODE;
+import static com.ibm.ei.utils.Configuration.FILE_SINK;
 import static com.ibm.ei.utils.Configuration.GEN_CONFIG;
-import static com.ibm.ei.utils.Configuration.OUTPUT_PATH;
 import static com.ibm.ei.utils.Configuration.PRODUCER_CONFIG;
 import static com.ibm.ei.utils.Configuration.RUNTIME_MODE;
+import static com.ibm.ei.utils.Configuration.SEARCH_MODE;
 
+import com.ibm.ei.consumer.EndToEndConsumer;
+import com.ibm.ei.producer.config.EndToEndConsumerConfig;
 import com.ibm.ei.producer.config.PayloadConfig;
 import com.ibm.ei.producer.config.ProducerConfig;
+import com.ibm.ei.producer.config.SearchConfig;
+import com.ibm.ei.producer.config.SinkConfig;
+import com.ibm.ei.producer.sink.SinkFactory;
+import com.ibm.ei.producer.sink.Sinks;
 import com.ibm.ei.utils.Configuration;
+import com.ibm.ei.utils.Histogram;
+import com.ibm.ei.utils.RingBuffer;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.stream.Collectors;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,8 +54,6 @@ public class Runner {
 
   public static void main(String[] args) throws IOException {
 
-    List<ProducerThread> producers = new ArrayList<>();
-
     try {
       Configuration runtimeArgs = new Configuration(args);
       runtimeArgs.validate();
@@ -58,8 +62,7 @@ public class Runner {
       PayloadConfig payloadConfig = PayloadConfig.createPayloadConfig(runtimeArgs);
 
       boolean isBatch = runtimeArgs.getString(RUNTIME_MODE).equals(BATCH_MODE);
-
-      String batchOutputPath = runtimeArgs.getString(OUTPUT_PATH);
+      boolean isSearch = runtimeArgs.getString(RUNTIME_MODE).equals(SEARCH_MODE);
 
       if (runtimeArgs.getBoolean(GEN_CONFIG)) {
         try {
@@ -74,68 +77,112 @@ public class Runner {
         System.exit(0);
       }
 
-      PayloadGenerator generator = new PayloadGenerator(payloadConfig);
-      logger.info("Generating messages");
-      BlockingQueue<String> messageQueue = new LinkedBlockingQueue<>();
-
-      for (int i = 0; i < payloadConfig.getNumRecords(); i++) {
-        String generated = generator.generatePayload();
-        String flattened = new JSONObject(generated).toString();
-        messageQueue.add(flattened);
-        if (i % (payloadConfig.getNumRecords() / 10) == 0) {
-          String progress =
-              Double.valueOf(
-                          (Integer.valueOf(i).floatValue() / payloadConfig.getNumRecords()) * 100)
-                      .intValue()
-                  + "%";
-          logger.info(progress);
+      if (runtimeArgs.getString(RUNTIME_MODE).equals(CONSUMER_MODE)) {
+        try {
+          new EndToEndConsumer(EndToEndConsumerConfig.createEndToEndConsumerConfig(runtimeArgs))
+              .run();
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
         }
+        System.exit(0);
       }
 
-      if (isBatch) {
-        try {
-          final File output = new File(batchOutputPath);
-          FileUtils.writeStringToFile(
-              output,
-              messageQueue.stream().collect(Collectors.joining(System.lineSeparator())),
-              "UTF-8");
-          logger.info(
-              translations.getString("runner.outputGenerated"),
-              messageQueue.size(),
-              output.getAbsolutePath());
-        } catch (IOException exception) {
-          logger.error(translations.getString("runner.outputGenerationFail"), exception);
+      RecordGenerator records =
+          new RecordGenerator(new PayloadGenerator(payloadConfig), payloadConfig.getNumRecords());
+
+      SinkConfig sinkConfig = SinkConfig.createSinkConfig(runtimeArgs);
+      SinkFactory sinkFactory;
+      try {
+        sinkFactory = Sinks.createFactory(sinkConfig, producerConfig);
+      } catch (IOException exception) {
+        logger.error(translations.getString("runner.outputGenerationFail"), exception);
+        System.exit(1);
+        return;
+      }
+
+      if (isSearch) {
+        SearchConfig searchConfig = SearchConfig.createSearchConfig(runtimeArgs);
+        // The search re-sends a fixed pool of records, so generate them all up front.
+        List<String> payloads = new ArrayList<>();
+        while (records.remaining() > 0) {
+          payloads.add(records.next());
+        }
+        records.logSummary();
+        try (SinkFactory searchSinks = sinkFactory) {
+          new SaturationSearch(producerConfig, searchConfig, searchSinks, payloads).run();
+        } catch (InterruptedException exception) {
+          logger.error(translations.getString("runner.searchFailed"), exception);
+          System.exit(1);
         }
         System.exit(0);
       }
 
+      RingBuffer<String> ring =
+          new RingBuffer<>(producerConfig.getRingSize(), producerConfig.getWaitStrategy());
+      GeneratorThread generatorThread = new GeneratorThread(records, ring);
+      SendMetrics metrics = new SendMetrics();
+      RunControl control = new RunControl(producerConfig.getThroughput(), metrics);
+      ProducerPool producers = new ProducerPool(control, sinkFactory, metrics, ring);
+
       Thread gracefulEnd =
           new Thread(
-              () -> {
-                final Integer totalCount =
-                    producers
-                        .stream()
-                        .map(ProducerThread::messageCount)
-                        .mapToInt(Integer::intValue)
-                        .sum();
-                logger.info(
-                    "Sent {} records in total across {} producers", totalCount, producers.size());
-              });
+              () ->
+                  logger.info(
+                      "Sent {} records in total across {} producers",
+                      producers.messageCount(),
+                      producers.size()));
 
       Runtime.getRuntime().addShutdownHook(gracefulEnd);
 
-      ThreadGroup producersGroup = new ThreadGroup("Producers");
+      ControlServer controlServer = null;
+      if (producerConfig.getControlPort() >= 0) {
+        try {
+          controlServer = new ControlServer(producerConfig.getControlPort(), control, producers);
+          controlServer.start();
+        } catch (IOException exception) {
+          logger.error(translations.getString("runner.controlFailed"), exception);
+          System.exit(1);
+        }
+      }
+
       logger.info("Starting {} producers to send messages", producerConfig.getNumThreads());
-      for (int i = 0; i < producerConfig.getNumThreads(); i++) {
-        ProducerThread producerThread =
-            new ProducerThread(
-                producersGroup,
-                String.format("producer%d", i),
-                producerConfig,
-                payloadConfig,
-                messageQueue);
-        producerThread.start();
-        producers.add(producerThread);
+      long sendStart = System.nanoTime();
+      producers.resize(producerConfig.getNumThreads());
+      generatorThread.start();
+
+      try (sinkFactory) {
+        try {
+          generatorThread.join();
+          producers.awaitTermination();
+        } finally {
+          // Stop taking changes before the sinks are closed, so no producer is started on them.
+          if (controlServer != null) {
+            controlServer.stop();
+          }
+          control.shutdown();
+        }
+        // Wait for any producers started through the control API just before it stopped.
+        producers.awaitTermination();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+
+      if (generatorThread.getFailure() != null) {
+        Runtime.getRuntime().removeShutdownHook(gracefulEnd);
+        logger.error(
+            translations.getString("runner.generationFailed"),
+            metrics.getSent(),
+            generatorThread.getFailure());
+        System.exit(1);
+      }
+      logRate("Sent", metrics.getSent(), sendStart);
+      logAckLatency(metrics);
+
+      if (isBatch && sinkConfig.getType().equals(FILE_SINK)) {
+        logger.info(
+            translations.getString("runner.outputGenerated"),
+            metrics.getAcked(),
+            new File(sinkConfig.getOutputPath()).getAbsolutePath());
       }
     } catch (ArgumentParserException error) {
       logger.warn(error.getLocalizedMessage());
@@ -147,4 +194,24 @@ public class Runner {
       }
     }
   }
+
+  private static void logRate(String action, long count, long startNanos) {
+    final double seconds = (System.nanoTime() - startNanos) / 1e9;
+    logger.info(
+        "{} {} records in {} ms ({} records/s)",
+        action,
+        count,
+        Math.round(seconds * 1000),
+        Math.round(count / Math.max(seconds, 1e-9)));
+  }
+
+  private static void logAckLatency(SendMetrics metrics) {
+    final Histogram latency = metrics.getAckLatencyMicros();
+    logger.info(
+        "Ack latency (ms): p50 {}, p99 {}, max {}; {} errors",
+        latency.percentile(50) / 1000.0,
+        latency.percentile(99) / 1000.0,
+        latency.getMax() / 1000.0,
+        metrics.getErrors());
+  }
 }
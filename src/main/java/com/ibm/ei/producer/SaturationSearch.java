@@ -0,0 +1,213 @@
+package com.ibm.ei.producer;
+
+import static com.ibm.ei.utils.Configuration.BINARY_SEARCH;
+
+import com.ibm.ei.producer.config.ProducerConfig;
+import com.ibm.ei.producer.config.SearchConfig;
+import com.ibm.ei.producer.sink.Sink;
+import com.ibm.ei.producer.sink.SinkFactory;
+import com.ibm.ei.utils.Histogram;
+import com.ibm.ei.utils.RateLimiter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the highest total send rate that meets a latency and error SLO by holding each candidate
+ * rate for a fixed period while measuring ack latency.
+ */
+public class SaturationSearch {
+
+  private static final Logger logger = LoggerFactory.getLogger(SaturationSearch.class);
+
+  // A step also fails if the producers could not keep up with the rate they were asked for.
+  private static final double ACHIEVED_RATE_TOLERANCE = 0.95;
+
+  private final ProducerConfig producerConfig;
+  private final SearchConfig searchConfig;
+  private final SinkFactory sinkFactory;
+  private final List<String> payloads;
+  private final List<StepResult> results = new ArrayList<>();
+
+  public SaturationSearch(
+      ProducerConfig producerConfig,
+      SearchConfig searchConfig,
+      SinkFactory sinkFactory,
+      List<String> payloads) {
+    this.producerConfig = producerConfig;
+    this.searchConfig = searchConfig;
+    this.sinkFactory = sinkFactory;
+    this.payloads = payloads;
+  }
+
+  /** Runs the search and returns the highest passing rate, if any rate passed. */
+  public Optional<Integer> run() throws IOException, InterruptedException {
+    List<Sink> sinks = new ArrayList<>();
+    for (int i = 0; i < producerConfig.getNumThreads(); i++) {
+      sinks.add(sinkFactory.create());
+    }
+    warmUp(sinks);
+
+    Optional<Integer> best =
+        searchConfig.getStrategy().equals(BINARY_SEARCH) ? binarySearch(sinks) : stepSearch(sinks);
+    report(best);
+    return best;
+  }
+
+  private Optional<Integer> stepSearch(List<Sink> sinks) throws InterruptedException {
+    Optional<Integer> best = Optional.empty();
+    int rate = searchConfig.getMinRate();
+    while (runStep(sinks, rate).passed) {
+      best = Optional.of(rate);
+      if (rate >= searchConfig.getMaxRate()) {
+        break;
+      }
+      // The last step is clamped so the maximum is always tried, and near Integer.MAX_VALUE the
+      // sum must not wrap to a negative, unthrottled, rate.
+      rate = (int) Math.min((long) rate + searchConfig.getStep(), searchConfig.getMaxRate());
+    }
+    return best;
+  }
+
+  private Optional<Integer> binarySearch(List<Sink> sinks) throws InterruptedException {
+    int low = searchConfig.getMinRate();
+    int high = searchConfig.getMaxRate();
+
+    if (!runStep(sinks, low).passed) {
+      return Optional.empty();
+    }
+    if (high == low || runStep(sinks, high).passed) {
+      return Optional.of(high);
+    }
+
+    while (high - low > searchConfig.getStep()) {
+      int mid = low + (high - low) / 2;
+      if (runStep(sinks, mid).passed) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+    return Optional.of(low);
+  }
+
+  // The first send on each Kafka producer waits for metadata, which would skew the first step.
+  private void warmUp(List<Sink> sinks) {
+    for (Sink sink : sinks) {
+      sink.send(payloads.get(0), exception -> {});
+      sink.flush();
+    }
+  }
+
+  private StepResult runStep(List<Sink> sinks, int rate) throws InterruptedException {
+    logger.info(
+        "Holding a target rate of {} records/s for {}s", rate, searchConfig.getStepDuration());
+
+    final SendMetrics metrics = new SendMetrics();
+    final double ratePerProducer = (double) rate / sinks.size();
+    final long start = System.nanoTime();
+    final long deadline = start + TimeUnit.SECONDS.toNanos(searchConfig.getStepDuration());
+
+    List<Thread> senders = new ArrayList<>();
+    for (int i = 0; i < sinks.size(); i++) {
+      final Sink sink = sinks.get(i);
+      final int offset = i;
+      Thread sender =
+          new Thread(
+              () -> {
+                RateLimiter limiter = new RateLimiter(ratePerProducer);
+                int index = offset;
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                  limiter.acquire();
+                  String payload = payloads.get(index % payloads.size());
+                  sink.send(payload, metrics.onSend());
+                  index += sinks.size();
+                }
+              },
+              String.format("search%d", i));
+      sender.start();
+      senders.add(sender);
+    }
+    for (Thread sender : senders) {
+      sender.join();
+    }
+    final double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+    sinks.forEach(Sink::flush);
+
+    StepResult result = new StepResult(rate, metrics.getSent() / elapsedSeconds, metrics);
+    results.add(result);
+    logger.info(result.toString());
+    return result;
+  }
+
+  private void report(Optional<Integer> best) {
+    logger.info(
+        "SLO: p{} ack latency <= {} ms, error rate <= {}",
+        searchConfig.getSloPercentile(),
+        searchConfig.getSloLatency(),
+        searchConfig.getSloErrorRate());
+    logger.info(
+        String.format(
+            "%10s %10s %9s %9s %9s %9s %8s %6s",
+            "target/s", "actual/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "SLO"));
+    results
+        .stream()
+        .sorted((a, b) -> Integer.compare(a.targetRate, b.targetRate))
+        .forEach(result -> logger.info(result.toString()));
+
+    if (best.isPresent()) {
+      logger.info("Maximum sustainable throughput: {} records/s", best.get());
+    } else {
+      logger.info(
+          "No rate met the SLO; the minimum rate of {} records/s was already too high",
+          searchConfig.getMinRate());
+    }
+  }
+
+  private class StepResult {
+    private final int targetRate;
+    private final double achievedRate;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+    private final long max;
+    private final long errors;
+    private final boolean passed;
+
+    private StepResult(int targetRate, double achievedRate, SendMetrics metrics) {
+      final Histogram latency = metrics.getAckLatencyMicros();
+      this.targetRate = targetRate;
+      this.achievedRate = achievedRate;
+      this.p50 = latency.percentile(50);
+      this.p95 = latency.percentile(95);
+      this.p99 = latency.percentile(99);
+      this.max = latency.getMax();
+      this.errors = metrics.getErrors();
+
+      final double sloLatencyMs = latency.percentile(searchConfig.getSloPercentile()) / 1000.0;
+      this.passed =
+          latency.getCount() > 0
+              && sloLatencyMs <= searchConfig.getSloLatency()
+              && metrics.getErrorRate() <= searchConfig.getSloErrorRate()
+              && achievedRate >= targetRate * ACHIEVED_RATE_TOLERANCE;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%10d %10.0f %9.2f %9.2f %9.2f %9.2f %8d %6s",
+          targetRate,
+          achievedRate,
+          p50 / 1000.0,
+          p95 / 1000.0,
+          p99 / 1000.0,
+          max / 1000.0,
+          errors,
+          passed ? "PASS" : "FAIL");
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.ibm.ei.producer;
+
+import com.ibm.ei.producer.sink.SinkCallback;
+import com.ibm.ei.utils.Histogram;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Ack latency and outcome counters shared by the threads sending records. */
+public class SendMetrics {
+
+  private final Histogram ackLatencyMicros = new Histogram();
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder acked = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+
+  /** Counts a record as sent and returns a callback recording its latency once acknowledged. */
+  public SinkCallback onSend() {
+    final long start = System.nanoTime();
+    sent.increment();
+    return exception -> {
+      if (Objects.isNull(exception)) {
+        ackLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        acked.increment();
+      } else {
+        errors.increment();
+      }
+    };
+  }
+
+  public Histogram getAckLatencyMicros() {
+    return ackLatencyMicros;
+  }
+
+  public long getSent() {
+    return sent.sum();
+  }
+
+  public long getAcked() {
+    return acked.sum();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  public double getErrorRate() {
+    final long completed = getAcked() + getErrors();
+    return completed == 0 ? 0 : (double) getErrors() / completed;
+  }
+}
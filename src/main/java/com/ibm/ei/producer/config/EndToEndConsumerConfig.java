@@ -0,0 +1,87 @@
+package com.ibm.ei.producer.config;
+
+import static com.ibm.ei.utils.Configuration.CONSUMER_TIMEOUT;
+import static com.ibm.ei.utils.Configuration.GROUP_ID;
+import static com.ibm.ei.utils.Configuration.NUM_CONSUMERS;
+import static com.ibm.ei.utils.Configuration.NUM_RECORDS;
+import static com.ibm.ei.utils.Configuration.PRODUCER_CONFIG;
+import static com.ibm.ei.utils.Configuration.TOPIC;
+
+import com.ibm.ei.utils.Configuration;
+import java.util.Optional;
+import java.util.UUID;
+
+public class EndToEndConsumerConfig {
+
+  private String topic;
+  private String configFilePath;
+  private Integer numThreads;
+  private String groupId;
+  private Integer timeout;
+  private Integer numRecords;
+
+  private EndToEndConsumerConfig() {}
+
+  public static EndToEndConsumerConfig createEndToEndConsumerConfig(Configuration ns) {
+    EndToEndConsumerConfig config = new EndToEndConsumerConfig();
+
+    config.setTopic(ns.getString(TOPIC));
+    config.setConfigFilePath(ns.getString(PRODUCER_CONFIG));
+    config.setNumThreads(ns.getInt(NUM_CONSUMERS));
+    config.setGroupId(
+        Optional.ofNullable(ns.getString(GROUP_ID))
+            .orElse("flink-workload-generator-" + UUID.randomUUID()));
+    config.setTimeout(ns.getInt(CONSUMER_TIMEOUT));
+    config.setNumRecords(ns.getInt(NUM_RECORDS));
+
+    return config;
+  }
+
+  public String getTopic() {
+    return topic;
+  }
+
+  public void setTopic(String topic) {
+    this.topic = topic;
+  }
+
+  public String getConfigFilePath() {
+    return configFilePath;
+  }
+
+  public void setConfigFilePath(String configFilePath) {
+    this.configFilePath = configFilePath;
+  }
+
+  public Integer getNumThreads() {
+    return numThreads;
+  }
+
+  public void setNumThreads(Integer numThreads) {
+    this.numThreads = numThreads;
+  }
+
+  public String getGroupId() {
+    return groupId;
+  }
+
+  public void setGroupId(String groupId) {
+    this.groupId = groupId;
+  }
+
+  public Integer getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Integer timeout) {
+    this.timeout = timeout;
+  }
+
+  public Integer getNumRecords() {
+    return numRecords;
+  }
+
+  public void setNumRecords(Integer numRecords) {
+    this.numRecords = numRecords;
+  }
+}
@@ -2,6 +2,7 @@ package com.ibm.ei.producer.config;
 
 import static com.ibm.ei.utils.Configuration.NUM_RECORDS;
 import static com.ibm.ei.utils.Configuration.PAYLOAD_TEMPLATE;
+import static com.ibm.ei.utils.Configuration.RECORD_SIZE;
 
 import com.ibm.ei.utils.Configuration;
 import java.text.SimpleDateFormat;
@@ -13,12 +14,14 @@ public class PayloadConfig {
 
   private String templateFilePath;
   private Integer numRecords;
+  private String recordSize;
 
   public static PayloadConfig createPayloadConfig(Configuration ns) {
     PayloadConfig config = new PayloadConfig();
 
     config.setTemplateFilePath(ns.getString(PAYLOAD_TEMPLATE));
     config.setNumRecords(ns.getInt(NUM_RECORDS));
+    config.setRecordSize(ns.getString(RECORD_SIZE));
 
     return config;
   }
@@ -40,4 +43,12 @@ public class PayloadConfig {
   public void setNumRecords(Integer numRecords) {
     this.numRecords = numRecords;
   }
+
+  public String getRecordSize() {
+    return recordSize;
+  }
+
+  public void setRecordSize(String recordSize) {
+    this.recordSize = recordSize;
+  }
 }
@@ -1,11 +1,19 @@
 package com.ibm.ei.producer.config;
 
+import static com.ibm.ei.utils.Configuration.CONTROL_PORT;
 import static com.ibm.ei.utils.Configuration.NUM_PRODUCERS;
 import static com.ibm.ei.utils.Configuration.PRODUCER_CONFIG;
+import static com.ibm.ei.utils.Configuration.PRODUCER_ID;
+import static com.ibm.ei.utils.Configuration.RING_SIZE;
+import static com.ibm.ei.utils.Configuration.STAMP_HEADERS;
 import static com.ibm.ei.utils.Configuration.THROUGHPUT;
 import static com.ibm.ei.utils.Configuration.TOPIC;
+import static com.ibm.ei.utils.Configuration.WAIT_STRATEGY;
 
 import com.ibm.ei.utils.Configuration;
+import com.ibm.ei.utils.WaitStrategy;
+import java.util.Optional;
+import java.util.UUID;
 
 public class ProducerConfig {
 
@@ -13,6 +21,11 @@ public class ProducerConfig {
   private Integer numThreads;
   private Integer throughput;
   private String configFilePath;
+  private Integer ringSize;
+  private WaitStrategy waitStrategy;
+  private Boolean stampHeaders;
+  private Integer controlPort;
+  private String producerId;
 
   private ProducerConfig() {}
 
@@ -23,6 +36,13 @@ public class ProducerConfig {
     config.setThroughput(ns.getInt(THROUGHPUT));
     config.setConfigFilePath(ns.getString(PRODUCER_CONFIG));
     config.setNumThreads(ns.getInt(NUM_PRODUCERS));
+    config.setRingSize(ns.getInt(RING_SIZE));
+    config.setWaitStrategy(WaitStrategy.valueOf(ns.getString(WAIT_STRATEGY)));
+    config.setStampHeaders(ns.getBoolean(STAMP_HEADERS));
+    config.setControlPort(ns.getInt(CONTROL_PORT));
+    config.setProducerId(
+        Optional.ofNullable(ns.getString(PRODUCER_ID))
+            .orElse(UUID.randomUUID().toString().substring(0, 8)));
 
     return config;
   }
@@ -58,4 +78,44 @@ public class ProducerConfig {
   public void setConfigFilePath(String configFilePath) {
     this.configFilePath = configFilePath;
   }
+
+  public Integer getRingSize() {
+    return ringSize;
+  }
+
+  public void setRingSize(Integer ringSize) {
+    this.ringSize = ringSize;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  public void setWaitStrategy(WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy;
+  }
+
+  public Boolean getStampHeaders() {
+    return stampHeaders;
+  }
+
+  public void setStampHeaders(Boolean stampHeaders) {
+    this.stampHeaders = stampHeaders;
+  }
+
+  public Integer getControlPort() {
+    return controlPort;
+  }
+
+  public void setControlPort(Integer controlPort) {
+    this.controlPort = controlPort;
+  }
+
+  public String getProducerId() {
+    return producerId;
+  }
+
+  public void setProducerId(String producerId) {
+    this.producerId = producerId;
+  }
 }
@@ -0,0 +1,105 @@
+package com.ibm.ei.producer.config;
+
+import static com.ibm.ei.utils.Configuration.SEARCH_MAX_RATE;
+import static com.ibm.ei.utils.Configuration.SEARCH_MIN_RATE;
+import static com.ibm.ei.utils.Configuration.SEARCH_STEP;
+import static com.ibm.ei.utils.Configuration.SEARCH_STEP_DURATION;
+import static com.ibm.ei.utils.Configuration.SEARCH_STRATEGY;
+import static com.ibm.ei.utils.Configuration.SLO_ERROR_RATE;
+import static com.ibm.ei.utils.Configuration.SLO_LATENCY;
+import static com.ibm.ei.utils.Configuration.SLO_PERCENTILE;
+
+import com.ibm.ei.utils.Configuration;
+
+public class SearchConfig {
+
+  private String strategy;
+  private Integer minRate;
+  private Integer maxRate;
+  private Integer step;
+  private Integer stepDuration;
+  private Double sloPercentile;
+  private Double sloLatency;
+  private Double sloErrorRate;
+
+  private SearchConfig() {}
+
+  public static SearchConfig createSearchConfig(Configuration ns) {
+    SearchConfig config = new SearchConfig();
+
+    config.setStrategy(ns.getString(SEARCH_STRATEGY));
+    config.setMinRate(ns.getInt(SEARCH_MIN_RATE));
+    config.setMaxRate(ns.getInt(SEARCH_MAX_RATE));
+    config.setStep(ns.getInt(SEARCH_STEP));
+    config.setStepDuration(ns.getInt(SEARCH_STEP_DURATION));
+    config.setSloPercentile(ns.getDouble(SLO_PERCENTILE));
+    config.setSloLatency(ns.getDouble(SLO_LATENCY));
+    config.setSloErrorRate(ns.getDouble(SLO_ERROR_RATE));
+
+    return config;
+  }
+
+  public String getStrategy() {
+    return strategy;
+  }
+
+  public void setStrategy(String strategy) {
+    this.strategy = strategy;
+  }
+
+  public Integer getMinRate() {
+    return minRate;
+  }
+
+  public void setMinRate(Integer minRate) {
+    this.minRate = minRate;
+  }
+
+  public Integer getMaxRate() {
+    return maxRate;
+  }
+
+  public void setMaxRate(Integer maxRate) {
+    this.maxRate = maxRate;
+  }
+
+  public Integer getStep() {
+    return step;
+  }
+
+  public void setStep(Integer step) {
+    this.step = step;
+  }
+
+  public Integer getStepDuration() {
+    return stepDuration;
+  }
+
+  public void setStepDuration(Integer stepDuration) {
+    this.stepDuration = stepDuration;
+  }
+
+  public Double getSloPercentile() {
+    return sloPercentile;
+  }
+
+  public void setSloPercentile(Double sloPercentile) {
+    this.sloPercentile = sloPercentile;
+  }
+
+  public Double getSloLatency() {
+    return sloLatency;
+  }
+
+  public void setSloLatency(Double sloLatency) {
+    this.sloLatency = sloLatency;
+  }
+
+  public Double getSloErrorRate() {
+    return sloErrorRate;
+  }
+
+  public void setSloErrorRate(Double sloErrorRate) {
+    this.sloErrorRate = sloErrorRate;
+  }
+}
@@ -0,0 +1,49 @@
+package com.ibm.ei.producer.config;
+
+import static com.ibm.ei.utils.Configuration.NULL_SINK_LATENCY;
+import static com.ibm.ei.utils.Configuration.OUTPUT_PATH;
+
+import com.ibm.ei.utils.Configuration;
+
+public class SinkConfig {
+
+  private String type;
+  private String outputPath;
+  private Double nullSinkLatency;
+
+  private SinkConfig() {}
+
+  public static SinkConfig createSinkConfig(Configuration ns) {
+    SinkConfig config = new SinkConfig();
+
+    config.setType(ns.getSinkType());
+    config.setOutputPath(ns.getString(OUTPUT_PATH));
+    config.setNullSinkLatency(ns.getDouble(NULL_SINK_LATENCY));
+
+    return config;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getOutputPath() {
+    return outputPath;
+  }
+
+  public void setOutputPath(String outputPath) {
+    this.outputPath = outputPath;
+  }
+
+  public Double getNullSinkLatency() {
+    return nullSinkLatency;
+  }
+
+  public void setNullSinkLatency(Double nullSinkLatency) {
+    this.nullSinkLatency = nullSinkLatency;
+  }
+}
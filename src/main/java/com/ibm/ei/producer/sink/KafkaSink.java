@@ -0,0 +1,51 @@
+package com.ibm.ei.producer.sink;
+
+import com.ibm.ei.utils.TraceHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+public class KafkaSink implements Sink {
+
+  private final KafkaProducer<String, String> producer;
+  private final String topic;
+  private final byte[] producerId;
+  private final AtomicLong sequence = new AtomicLong(0);
+
+  public KafkaSink(KafkaProducer<String, String> producer, String topic) {
+    this(producer, topic, null);
+  }
+
+  /** With a producer id, every record is stamped with {@link TraceHeaders}. */
+  public KafkaSink(KafkaProducer<String, String> producer, String topic, String producerId) {
+    this.producer = producer;
+    this.topic = topic;
+    this.producerId =
+        Objects.isNull(producerId) ? null : producerId.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void send(String payload, SinkCallback callback) {
+    final ProducerRecord<String, String> record = new ProducerRecord<>(topic, payload);
+    if (Objects.nonNull(producerId)) {
+      record
+          .headers()
+          .add(TraceHeaders.PRODUCER_ID, producerId)
+          .add(TraceHeaders.SEQUENCE, TraceHeaders.encode(sequence.getAndIncrement()))
+          .add(TraceHeaders.SEND_TIME, TraceHeaders.encode(TraceHeaders.nowMicros()));
+    }
+    producer.send(record, (metadata, exception) -> callback.onCompletion(exception));
+  }
+
+  @Override
+  public void flush() {
+    producer.flush();
+  }
+
+  @Override
+  public void close() {
+    producer.close();
+  }
+}
@@ -0,0 +1,28 @@
+package com.ibm.ei.producer.sink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/** Keeps every record in memory, so a run can be inspected without any external system. */
+public class MemorySink implements Sink {
+
+  private final Queue<String> records = new ConcurrentLinkedQueue<>();
+
+  @Override
+  public void send(String payload, SinkCallback callback) {
+    records.add(payload);
+    callback.onCompletion(null);
+  }
+
+  @Override
+  public void flush() {}
+
+  @Override
+  public void close() {}
+
+  public List<String> getRecords() {
+    return new ArrayList<>(records);
+  }
+}
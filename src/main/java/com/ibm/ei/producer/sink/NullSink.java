@@ -0,0 +1,62 @@
+package com.ibm.ei.producer.sink;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Discards every record. With a latency set, each record completes asynchronously after that delay,
+ * approximating a broker ack without needing one.
+ */
+public class NullSink implements Sink {
+
+  private final long latencyNanos;
+  private final ScheduledExecutorService acks;
+  private final LongAdder pending = new LongAdder();
+
+  public NullSink(double latencyMillis) {
+    this.latencyNanos = (long) (latencyMillis * TimeUnit.MILLISECONDS.toNanos(1));
+    this.acks =
+        latencyNanos > 0
+            ? Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                  Thread thread = new Thread(runnable, "null-sink-acks");
+                  thread.setDaemon(true);
+                  return thread;
+                })
+            : null;
+  }
+
+  @Override
+  public void send(String payload, SinkCallback callback) {
+    if (acks == null) {
+      callback.onCompletion(null);
+      return;
+    }
+    pending.increment();
+    acks.schedule(
+        () -> {
+          callback.onCompletion(null);
+          pending.decrement();
+        },
+        latencyNanos,
+        TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void flush() {
+    while (pending.sum() > 0) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+    if (acks != null) {
+      acks.shutdown();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.ibm.ei.producer.sink;
+
+import java.io.Closeable;
+
+/**
+ * A destination for generated records. Sinks are created by a {@link SinkFactory}, which owns and
+ * closes them, and must tolerate being shared by several sender threads.
+ */
+public interface Sink extends Closeable {
+
+  /** Writes a record, invoking the callback once the record is durable or has failed. */
+  void send(String payload, SinkCallback callback);
+
+  /** Blocks until every record sent so far has completed. */
+  void flush();
+}
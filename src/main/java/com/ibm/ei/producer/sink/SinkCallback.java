@@ -0,0 +1,8 @@
+package com.ibm.ei.producer.sink;
+
+@FunctionalInterface
+public interface SinkCallback {
+
+  /** Called once a record completes, with a null exception if it was written successfully. */
+  void onCompletion(Exception exception);
+}
@@ -0,0 +1,17 @@
+package com.ibm.ei.producer.sink;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/** Creates the sink used by each sender thread, and closes every sink it created when closed. */
+public interface SinkFactory extends Closeable {
+
+  Sink create() throws IOException;
+
+  /**
+   * Hands back a sink from {@link #create()} once its sender has stopped and flushed, so the
+   * factory can give it to the next sender instead of keeping it open, unused, until the factory is
+   * closed.
+   */
+  default void release(Sink sink) throws IOException {}
+}
@@ -0,0 +1,110 @@
+package com.ibm.ei.producer.sink;
+
+import static com.ibm.ei.utils.Configuration.FILE_SINK;
+import static com.ibm.ei.utils.Configuration.NULL_SINK;
+import static com.ibm.ei.utils.Configuration.STDOUT_SINK;
+
+import com.ibm.ei.producer.config.ProducerConfig;
+import com.ibm.ei.producer.config.SinkConfig;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.common.utils.Utils;
+
+public final class Sinks {
+
+  private Sinks() {}
+
+  public static SinkFactory createFactory(SinkConfig sinkConfig, ProducerConfig producerConfig)
+      throws IOException {
+    switch (sinkConfig.getType()) {
+      case FILE_SINK:
+        return shared(
+            new WriterSink(
+                Files.newBufferedWriter(
+                    Paths.get(sinkConfig.getOutputPath()), StandardCharsets.UTF_8),
+                true));
+      case STDOUT_SINK:
+        return shared(
+            new WriterSink(
+                new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)),
+                false));
+      case NULL_SINK:
+        return shared(new NullSink(sinkConfig.getNullSinkLatency()));
+      default:
+        return kafka(producerConfig);
+    }
+  }
+
+  /** Returns a factory handing the same thread-safe sink to every sender. */
+  public static SinkFactory shared(Sink sink) {
+    return new SinkFactory() {
+      @Override
+      public Sink create() {
+        return sink;
+      }
+
+      @Override
+      public void close() throws IOException {
+        sink.close();
+      }
+    };
+  }
+
+  // One producer per sender thread, as each KafkaProducer has a single network thread. Released
+  // producers are reused by the next sender, keeping their connections, metadata, producer id and
+  // sequence, so scaling the senders down and up again doesn't open new producers.
+  private static SinkFactory kafka(ProducerConfig producerConfig) throws IOException {
+    final Properties props = Utils.loadProps(producerConfig.getConfigFilePath());
+    final List<KafkaSink> created = new ArrayList<>();
+    final Deque<KafkaSink> idle = new ArrayDeque<>();
+    return new SinkFactory() {
+      private boolean closed = false;
+
+      @Override
+      public synchronized Sink create() throws IOException {
+        if (closed) {
+          throw new IOException("Cannot create a Kafka sink after the factory is closed");
+        }
+        if (!idle.isEmpty()) {
+          return idle.pop();
+        }
+        String producerId =
+            producerConfig.getStampHeaders()
+                ? String.format("%s-%d", producerConfig.getProducerId(), created.size())
+                : null;
+        KafkaSink sink =
+            new KafkaSink(new KafkaProducer<>(props), producerConfig.getTopic(), producerId);
+        created.add(sink);
+        return sink;
+      }
+
+      @Override
+      public synchronized void release(Sink sink) {
+        final KafkaSink kafkaSink = (KafkaSink) sink;
+        if (closed) {
+          kafkaSink.close();
+        } else {
+          idle.push(kafkaSink);
+        }
+      }
+
+      @Override
+      public synchronized void close() {
+        closed = true;
+        created.forEach(KafkaSink::close);
+        created.clear();
+        idle.clear();
+      }
+    };
+  }
+}
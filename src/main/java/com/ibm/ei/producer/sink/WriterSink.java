@@ -0,0 +1,50 @@
+package com.ibm.ei.producer.sink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/** Writes each record as a line to a writer shared by all sender threads. */
+public class WriterSink implements Sink {
+
+  private final Writer writer;
+  private final boolean ownsWriter;
+
+  public WriterSink(Writer writer, boolean ownsWriter) {
+    this.writer = writer;
+    this.ownsWriter = ownsWriter;
+  }
+
+  @Override
+  public void send(String payload, SinkCallback callback) {
+    try {
+      synchronized (writer) {
+        writer.write(payload);
+        writer.write(System.lineSeparator());
+      }
+      callback.onCompletion(null);
+    } catch (IOException exception) {
+      callback.onCompletion(exception);
+    }
+  }
+
+  @Override
+  public void flush() {
+    try {
+      synchronized (writer) {
+        writer.flush();
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (ownsWriter) {
+      writer.close();
+    } else {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.ibm.ei.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/** Adapts an {@link Appendable} to a {@link Writer}, without copying the characters written. */
+public class AppendableWriter extends Writer {
+
+  private final Appendable target;
+
+  public AppendableWriter(Appendable target) {
+    this.target = target;
+  }
+
+  @Override
+  public void write(char[] chars, int offset, int length) throws IOException {
+    target.append(CharBuffer.wrap(chars), offset, offset + length);
+  }
+
+  @Override
+  public void write(String value, int offset, int length) throws IOException {
+    target.append(value, offset, offset + length);
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    target.append((char) c);
+  }
+
+  @Override
+  public Writer append(CharSequence value) throws IOException {
+    target.append(value);
+    return this;
+  }
+
+  @Override
+  public void flush() {}
+
+  @Override
+  public void close() {}
+}
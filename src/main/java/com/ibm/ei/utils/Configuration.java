@@ -16,21 +16,60 @@ public class Configuration {
 
   public static final String BATCH_MODE = "BATCH";
   public static final String PRODUCER_MODE = "PRODUCER";
+  public static final String SEARCH_MODE = "SEARCH";
+  public static final String CONSUMER_MODE = "CONSUMER";
+  public static final String STEP_SEARCH = "STEP";
+  public static final String BINARY_SEARCH = "BINARY";
+  public static final String KAFKA_SINK = "KAFKA";
+  public static final String FILE_SINK = "FILE";
+  public static final String STDOUT_SINK = "STDOUT";
+  public static final String NULL_SINK = "NULL";
   public static final String RUNTIME_MODE = "RUNTIME_MODE";
   public static final String OUTPUT_PATH = "OUTPUT";
+  public static final String SINK = "SINK";
+  public static final String NULL_SINK_LATENCY = "NULL_SINK_LATENCY";
   public static final String GEN_CONFIG = "GEN_CONFIG";
   public static final String TOPIC = "TOPIC";
   public static final String PRODUCER_CONFIG = "PRODUCER_CONFIG";
   public static final String THROUGHPUT = "THROUGHPUT";
   public static final String NUM_PRODUCERS = "NUM_THREADS";
+  public static final String RING_SIZE = "RING_SIZE";
+  public static final String WAIT_STRATEGY = "WAIT_STRATEGY";
+  public static final String STAMP_HEADERS = "STAMP_HEADERS";
+  public static final String CONTROL_PORT = "CONTROL_PORT";
+  public static final String PRODUCER_ID = "PRODUCER_ID";
+  public static final String NUM_CONSUMERS = "NUM_CONSUMERS";
+  public static final String GROUP_ID = "GROUP_ID";
+  public static final String CONSUMER_TIMEOUT = "CONSUMER_TIMEOUT";
   public static final String PAYLOAD_TEMPLATE = "PAYLOAD_TEMPLATE";
   public static final String NUM_RECORDS = "NUM_RECORDS";
+  public static final String RECORD_SIZE = "RECORD_SIZE";
+  public static final String SEARCH_STRATEGY = "SEARCH_STRATEGY";
+  public static final String SEARCH_MIN_RATE = "SEARCH_MIN_RATE";
+  public static final String SEARCH_MAX_RATE = "SEARCH_MAX_RATE";
+  public static final String SEARCH_STEP = "SEARCH_STEP";
+  public static final String SEARCH_STEP_DURATION = "SEARCH_STEP_DURATION";
+  public static final String SLO_PERCENTILE = "SLO_PERCENTILE";
+  public static final String SLO_LATENCY = "SLO_LATENCY";
+  public static final String SLO_ERROR_RATE = "SLO_ERROR_RATE";
   private static final String DEFAULT_PRODUCER_CONFIG = "producer.config";
   private static final String DEFAULT_OUTPUT = "output.txt";
   private static final String DEFAULT_PAYLOAD = "payload.hbs";
   private static final Integer DEFAULT_THROUGHPUT = -1;
   private static final Integer DEFAULT_NUMBER_PRODUCERS = 1;
+  private static final Integer DEFAULT_RING_SIZE = 8192;
+  private static final Integer DEFAULT_CONTROL_PORT = -1;
+  private static final Integer DEFAULT_NUM_CONSUMERS = 1;
+  private static final Integer DEFAULT_CONSUMER_TIMEOUT = 30;
   private static final Integer DEFAULT_NUM_RECORDS = 100;
+  private static final Double DEFAULT_NULL_SINK_LATENCY = 0.0;
+  private static final Integer DEFAULT_SEARCH_MIN_RATE = 1000;
+  private static final Integer DEFAULT_SEARCH_MAX_RATE = 100000;
+  private static final Integer DEFAULT_SEARCH_STEP = 1000;
+  private static final Integer DEFAULT_SEARCH_STEP_DURATION = 30;
+  private static final Double DEFAULT_SLO_PERCENTILE = 99.0;
+  private static final Double DEFAULT_SLO_LATENCY = 50.0;
+  private static final Double DEFAULT_SLO_ERROR_RATE = 0.0;
   private static final ResourceBundle translations =
       ResourceBundle.getBundle("MessageBundle", Locale.getDefault());
 
@@ -60,11 +99,27 @@ public class Configuration {
         .addArgument("-m", "--mode")
         .action(Arguments.store())
         .setDefault(BATCH_MODE)
-        .choices(BATCH_MODE, PRODUCER_MODE)
+        .choices(BATCH_MODE, PRODUCER_MODE, SEARCH_MODE, CONSUMER_MODE)
         .type(String.class)
         .dest(RUNTIME_MODE)
         .help(translations.getString("runner.runtimeMode.help"));
 
+    generalConfig
+        .addArgument("--sink")
+        .action(Arguments.store())
+        .choices(KAFKA_SINK, FILE_SINK, STDOUT_SINK, NULL_SINK)
+        .type(String.class)
+        .dest(SINK)
+        .help(translations.getString("runner.sink.help"));
+
+    generalConfig
+        .addArgument("--null-sink-latency")
+        .action(Arguments.store())
+        .type(Double.class)
+        .dest(NULL_SINK_LATENCY)
+        .setDefault(DEFAULT_NULL_SINK_LATENCY)
+        .help(translations.getString("runner.nullSinkLatency.help"));
+
     ArgumentGroup producerConfig =
         parser.addArgumentGroup(translations.getString("runner.producerConfigSection"));
 
@@ -99,6 +154,74 @@ public class Configuration {
         .setDefault(DEFAULT_THROUGHPUT)
         .help(translations.getString("runner.throughput.help"));
 
+    producerConfig
+        .addArgument("--ring-size")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(RING_SIZE)
+        .setDefault(DEFAULT_RING_SIZE)
+        .help(translations.getString("runner.ringSize.help"));
+
+    producerConfig
+        .addArgument("--wait-strategy")
+        .action(Arguments.store())
+        .type(String.class)
+        .choices(WaitStrategy.BUSY_SPIN.name(), WaitStrategy.YIELD.name(), WaitStrategy.PARK.name())
+        .dest(WAIT_STRATEGY)
+        .setDefault(WaitStrategy.PARK.name())
+        .help(translations.getString("runner.waitStrategy.help"));
+
+    producerConfig
+        .addArgument("--control-port")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(CONTROL_PORT)
+        .setDefault(DEFAULT_CONTROL_PORT)
+        .help(translations.getString("runner.controlPort.help"));
+
+    producerConfig
+        .addArgument("--stamp-headers")
+        .action(Arguments.storeTrue())
+        .type(Boolean.class)
+        .setDefault(false)
+        .dest(STAMP_HEADERS)
+        .help(translations.getString("runner.stampHeaders.help"));
+
+    producerConfig
+        .addArgument("--producer-id")
+        .action(Arguments.store())
+        .type(String.class)
+        .dest(PRODUCER_ID)
+        .help(translations.getString("runner.producerId.help"));
+
+    ArgumentGroup consumerConfig =
+        parser
+            .addArgumentGroup("Consumer mode")
+            .description(translations.getString("runner.consumerConfigSection"));
+
+    consumerConfig
+        .addArgument("--num-consumers")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(NUM_CONSUMERS)
+        .setDefault(DEFAULT_NUM_CONSUMERS)
+        .help(translations.getString("runner.numConsumers.help"));
+
+    consumerConfig
+        .addArgument("--group-id")
+        .action(Arguments.store())
+        .type(String.class)
+        .dest(GROUP_ID)
+        .help(translations.getString("runner.groupId.help"));
+
+    consumerConfig
+        .addArgument("--consumer-timeout")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(CONSUMER_TIMEOUT)
+        .setDefault(DEFAULT_CONSUMER_TIMEOUT)
+        .help(translations.getString("runner.consumerTimeout.help"));
+
     ArgumentGroup batchConfig =
         parser
             .addArgumentGroup("Batch mode")
@@ -112,6 +235,76 @@ public class Configuration {
         .setDefault(DEFAULT_OUTPUT)
         .help(translations.getString("runner.outputFile.help"));
 
+    ArgumentGroup searchConfig =
+        parser
+            .addArgumentGroup("Search mode")
+            .description(translations.getString("runner.searchConfigSection"));
+
+    searchConfig
+        .addArgument("--search-strategy")
+        .action(Arguments.store())
+        .setDefault(STEP_SEARCH)
+        .choices(STEP_SEARCH, BINARY_SEARCH)
+        .type(String.class)
+        .dest(SEARCH_STRATEGY)
+        .help(translations.getString("runner.searchStrategy.help"));
+
+    searchConfig
+        .addArgument("--search-min-rate")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(SEARCH_MIN_RATE)
+        .setDefault(DEFAULT_SEARCH_MIN_RATE)
+        .help(translations.getString("runner.searchMinRate.help"));
+
+    searchConfig
+        .addArgument("--search-max-rate")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(SEARCH_MAX_RATE)
+        .setDefault(DEFAULT_SEARCH_MAX_RATE)
+        .help(translations.getString("runner.searchMaxRate.help"));
+
+    searchConfig
+        .addArgument("--search-step")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(SEARCH_STEP)
+        .setDefault(DEFAULT_SEARCH_STEP)
+        .help(translations.getString("runner.searchStep.help"));
+
+    searchConfig
+        .addArgument("--search-step-duration")
+        .action(Arguments.store())
+        .type(Integer.class)
+        .dest(SEARCH_STEP_DURATION)
+        .setDefault(DEFAULT_SEARCH_STEP_DURATION)
+        .help(translations.getString("runner.searchStepDuration.help"));
+
+    searchConfig
+        .addArgument("--slo-percentile")
+        .action(Arguments.store())
+        .type(Double.class)
+        .dest(SLO_PERCENTILE)
+        .setDefault(DEFAULT_SLO_PERCENTILE)
+        .help(translations.getString("runner.sloPercentile.help"));
+
+    searchConfig
+        .addArgument("--slo-latency")
+        .action(Arguments.store())
+        .type(Double.class)
+        .dest(SLO_LATENCY)
+        .setDefault(DEFAULT_SLO_LATENCY)
+        .help(translations.getString("runner.sloLatency.help"));
+
+    searchConfig
+        .addArgument("--slo-error-rate")
+        .action(Arguments.store())
+        .type(Double.class)
+        .dest(SLO_ERROR_RATE)
+        .setDefault(DEFAULT_SLO_ERROR_RATE)
+        .help(translations.getString("runner.sloErrorRate.help"));
+
     ArgumentGroup payloadOptions =
         parser
             .addArgumentGroup("Payload configuration")
@@ -133,6 +326,13 @@ public class Configuration {
         .setDefault(DEFAULT_NUM_RECORDS)
         .help(translations.getString("runner.numRecords.help"));
 
+    payloadOptions
+        .addArgument("-s", "--record-size")
+        .action(Arguments.store())
+        .type(String.class)
+        .dest(RECORD_SIZE)
+        .help(translations.getString("runner.recordSize.help"));
+
     this.ns = parser.parseArgs(args);
   }
 
@@ -158,25 +358,40 @@ public class Configuration {
     return Optional.ofNullable(System.getenv().get(key)).map(Boolean::valueOf).orElse(ns.get(key));
   }
 
+  /**
+   * The sink records are written to, which defaults to a file in batch mode and Kafka otherwise.
+   */
+  public String getSinkType() {
+    return Optional.ofNullable(getString(SINK))
+        .orElse(getString(RUNTIME_MODE).equals(BATCH_MODE) ? FILE_SINK : KAFKA_SINK);
+  }
+
   public void validate() throws ArgumentParserException {
 
     if (getBoolean(GEN_CONFIG)) return;
 
-    boolean batchMode = getString(RUNTIME_MODE).equals(BATCH_MODE);
+    boolean consumerMode = getString(RUNTIME_MODE).equals(CONSUMER_MODE);
+    boolean kafkaSink = consumerMode || getSinkType().equals(KAFKA_SINK);
+    boolean fileSink = !consumerMode && getSinkType().equals(FILE_SINK);
 
-    if (Objects.isNull(getString(PAYLOAD_TEMPLATE))
-        || (!batchMode
+    if ((!consumerMode && Objects.isNull(getString(PAYLOAD_TEMPLATE)))
+        || (kafkaSink
             && (Objects.isNull(getString(TOPIC)) || Objects.isNull(getString(PRODUCER_CONFIG))))
-        || (batchMode && Objects.isNull(getString(OUTPUT_PATH)))) {
+        || (fileSink && Objects.isNull(getString(OUTPUT_PATH)))) {
       throw new ArgumentParserException(translations.getString("runner.argsMissing"), parser);
     }
 
-    if (!new File(getString(PAYLOAD_TEMPLATE)).canRead()
-        || (batchMode && !new File(getString(OUTPUT_PATH)).canWrite())
-        || (!batchMode && !new File(getString(PRODUCER_CONFIG)).canRead())) {
+    if ((!consumerMode && !new File(getString(PAYLOAD_TEMPLATE)).canRead())
+        || (fileSink && !new File(getString(OUTPUT_PATH)).canWrite())
+        || (kafkaSink && !new File(getString(PRODUCER_CONFIG)).canRead())) {
       throw new ArgumentParserException(translations.getString("runner.invalidPath"), parser);
     }
 
+    if (!consumerMode && getBoolean(STAMP_HEADERS) && !getSinkType().equals(KAFKA_SINK)) {
+      throw new ArgumentParserException(
+          translations.getString("runner.invalidStampHeaders"), parser);
+    }
+
     if (getInt(NUM_PRODUCERS) < 1) {
       throw new ArgumentParserException(translations.getString("runner.invalidThreads"), parser);
     }
@@ -184,5 +399,45 @@ public class Configuration {
     if (getInt(THROUGHPUT) < 1 && getInt(THROUGHPUT) != -1) {
       throw new ArgumentParserException(translations.getString("runner.invalidThroughput"), parser);
     }
+
+    if (getInt(CONTROL_PORT) < -1 || getInt(CONTROL_PORT) > 65535) {
+      throw new ArgumentParserException(
+          translations.getString("runner.invalidControlPort"), parser);
+    }
+
+    if (getInt(NUM_CONSUMERS) < 1 || getInt(CONSUMER_TIMEOUT) < 1) {
+      throw new ArgumentParserException(translations.getString("runner.invalidConsumer"), parser);
+    }
+
+    if (getInt(RING_SIZE) < 1 || Integer.bitCount(getInt(RING_SIZE)) != 1) {
+      throw new ArgumentParserException(translations.getString("runner.invalidRingSize"), parser);
+    }
+
+    if (getDouble(NULL_SINK_LATENCY) < 0) {
+      throw new ArgumentParserException(
+          translations.getString("runner.invalidNullSinkLatency"), parser);
+    }
+
+    if (Objects.nonNull(getString(RECORD_SIZE))) {
+      try {
+        SizeDistribution.parse(getString(RECORD_SIZE));
+      } catch (IllegalArgumentException error) {
+        throw new ArgumentParserException(
+            String.format(translations.getString("runner.invalidRecordSize"), error.getMessage()),
+            parser);
+      }
+    }
+
+    if (getString(RUNTIME_MODE).equals(SEARCH_MODE)
+        && (getInt(SEARCH_MIN_RATE) < 1
+            || getInt(SEARCH_MAX_RATE) < getInt(SEARCH_MIN_RATE)
+            || getInt(SEARCH_STEP) < 1
+            || getInt(SEARCH_STEP_DURATION) < 1
+            || getDouble(SLO_PERCENTILE) <= 0
+            || getDouble(SLO_PERCENTILE) > 100
+            || getDouble(SLO_LATENCY) <= 0
+            || getDouble(SLO_ERROR_RATE) < 0)) {
+      throw new ArgumentParserException(translations.getString("runner.invalidSearch"), parser);
+    }
   }
 }
@@ -0,0 +1,60 @@
+package com.ibm.ei.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filler text cut from a block of random alphanumerics that is generated once, so padding records
+ * costs a copy rather than per-record random generation. The characters need no JSON escaping and
+ * are one byte each in UTF-8.
+ */
+public final class Filler {
+
+  private static final int BLOCK_SIZE = 1024 * 1024;
+  private static final String ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+  private static final String BLOCK = randomBlock();
+
+  private Filler() {}
+
+  public static String of(int length) {
+    if (length <= 0) {
+      return "";
+    }
+    if (length <= BLOCK_SIZE) {
+      final int offset = ThreadLocalRandom.current().nextInt(BLOCK_SIZE - length + 1);
+      return BLOCK.substring(offset, offset + length);
+    }
+    final StringBuilder builder = new StringBuilder(length);
+    while (builder.length() + BLOCK_SIZE <= length) {
+      builder.append(BLOCK);
+    }
+    return builder.append(BLOCK, 0, length - builder.length()).toString();
+  }
+
+  public static int utf8Length(CharSequence value) {
+    int length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        length += 1;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c)) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  private static String randomBlock() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final char[] block = new char[BLOCK_SIZE];
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      block[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+    }
+    return new String(block);
+  }
+}
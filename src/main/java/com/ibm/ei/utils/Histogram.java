@@ -0,0 +1,111 @@
+package com.ibm.ei.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative long values. Each power of two is split into 32
+ * sub-buckets, so reported percentiles are within ~3% of the recorded value.
+ */
+public class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+  private static final int BUCKETS = LINEAR_LIMIT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+  public void record(long value) {
+    final long v = Math.max(0, value);
+    counts.incrementAndGet(indexOf(v));
+    count.increment();
+    sum.add(v);
+    min.accumulateAndGet(v, Math::min);
+    max.accumulateAndGet(v, Math::max);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getMin() {
+    return getCount() == 0 ? 0 : min.get();
+  }
+
+  public long getMax() {
+    return getCount() == 0 ? 0 : max.get();
+  }
+
+  public double getMean() {
+    final long n = getCount();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  /** Returns the upper bound of the bucket holding the given percentile (0-100). */
+  public long percentile(double percentile) {
+    final long total = getCount();
+    if (total == 0) {
+      return 0;
+    }
+    final long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+    long cumulative = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      cumulative += counts.get(i);
+      if (cumulative >= target) {
+        return Math.min(upperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Returns the number of recorded values in each power of two range, where element {@code i}
+   * counts values in {@code [2^(i-1), 2^i)} and element 0 counts zeros.
+   */
+  public long[] powerOfTwoCounts() {
+    final long[] result = new long[64];
+    for (int i = 0; i < BUCKETS; i++) {
+      final long c = counts.get(i);
+      if (c > 0) {
+        final long lower = lowerBound(i);
+        result[lower == 0 ? 0 : 64 - Long.numberOfLeadingZeros(lower)] += c;
+      }
+    }
+    return result;
+  }
+
+  private static int indexOf(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int shift = exponent - SUB_BUCKET_BITS;
+    final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+    return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long lowerBound(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    final int offset = index - LINEAR_LIMIT;
+    final int shift = offset / SUB_BUCKETS + 1;
+    final long subBucket = SUB_BUCKETS + offset % SUB_BUCKETS;
+    return subBucket << shift;
+  }
+
+  private static long upperBound(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    final int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+    final long upper = lowerBound(index) + (1L << shift) - 1;
+    return upper < 0 ? Long.MAX_VALUE : upper;
+  }
+}
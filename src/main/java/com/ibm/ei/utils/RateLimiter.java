@@ -0,0 +1,52 @@
+package com.ibm.ei.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a single thread to a target number of permits per second. Unlike sleeping for a fixed whole
+ * number of milliseconds, this keeps an absolute schedule so rates above 1000/s are honoured and
+ * short stalls are caught up.
+ */
+public class RateLimiter {
+
+  private static final long MAX_CATCH_UP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private volatile double permitsPerSecond;
+  private long next = System.nanoTime();
+
+  public RateLimiter(double permitsPerSecond) {
+    setRate(permitsPerSecond);
+  }
+
+  public void setRate(double permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+  }
+
+  public double getRate() {
+    return permitsPerSecond;
+  }
+
+  /** Blocks until the next permit is due. A non-positive rate means unthrottled. */
+  public void acquire() {
+    final double rate = permitsPerSecond;
+    if (rate <= 0) {
+      return;
+    }
+    final long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+
+    final long now = System.nanoTime();
+    if (now - next > MAX_CATCH_UP_NANOS) {
+      next = now - MAX_CATCH_UP_NANOS;
+    }
+    next += intervalNanos;
+
+    long remaining;
+    while ((remaining = next - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.ibm.ei.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, pre-allocated ring buffer handing records from a single publisher to a pool of
+ * workers, in the style of the LMAX Disruptor's work pool. The publisher and workers claim slots in
+ * batches, so there are no locks or per-record allocations on the hand-off.
+ *
+ * <p>The publisher claims a batch of slots with {@link #claim(int)}, fills them with {@link
+ * #set(long, Object)} and makes them visible with {@link #publish(long)}. Each worker repeatedly
+ * {@link Worker#poll(int, Consumer) polls} for the next batch of published records. The publisher
+ * will not overwrite a slot until every worker that could be holding it has moved past it.
+ */
+public class RingBuffer<T> {
+
+  private static final AtomicLong[] NO_WORKERS = new AtomicLong[0];
+
+  private final Object[] entries;
+  private final int mask;
+  private final WaitStrategy waitStrategy;
+
+  // Highest published sequence.
+  private final AtomicLong cursor = new AtomicLong(-1);
+  // Next sequence to be claimed by a worker.
+  private final AtomicLong workSequence = new AtomicLong(0);
+  // Highest sequence each worker has finished with.
+  private volatile AtomicLong[] workerSequences = NO_WORKERS;
+  private volatile long finalSequence = Long.MAX_VALUE;
+
+  // Publisher state, only touched by the publishing thread.
+  private long nextSequence = 0;
+  private long cachedGatingSequence = -1;
+
+  public RingBuffer(int capacity, WaitStrategy waitStrategy) {
+    if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Ring buffer capacity must be a power of two");
+    }
+    this.entries = new Object[capacity];
+    this.mask = capacity - 1;
+    this.waitStrategy = waitStrategy;
+  }
+
+  public int getCapacity() {
+    return entries.length;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  /**
+   * Claims the next {@code count} slots for the publisher, waiting until the workers have freed
+   * them, and returns the highest claimed sequence.
+   */
+  public long claim(int count) throws InterruptedException {
+    if (count < 1 || count > entries.length) {
+      throw new IllegalArgumentException("Can only claim between 1 and capacity slots");
+    }
+    final long highest = nextSequence + count - 1;
+    final long wrapPoint = highest - entries.length;
+
+    int attempt = 0;
+    while (wrapPoint > cachedGatingSequence) {
+      cachedGatingSequence = gatingSequence();
+      if (wrapPoint > cachedGatingSequence) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        waitStrategy.idle(attempt++);
+      }
+    }
+
+    nextSequence = highest + 1;
+    return highest;
+  }
+
+  public void set(long sequence, T value) {
+    entries[(int) (sequence & mask)] = value;
+  }
+
+  /** Makes every claimed slot up to and including {@code sequence} visible to the workers. */
+  public void publish(long sequence) {
+    cursor.set(sequence);
+  }
+
+  /** Marks the last published record as the end of the stream. */
+  public void complete() {
+    finalSequence = cursor.get();
+  }
+
+  /** Adds a worker. Workers can join or {@link Worker#close() leave} at any time. */
+  public Worker register() {
+    final Worker worker = new Worker(new AtomicLong(workSequence.get() - 1));
+    synchronized (this) {
+      final AtomicLong[] updated = Arrays.copyOf(workerSequences, workerSequences.length + 1);
+      updated[updated.length - 1] = worker.sequence;
+      workerSequences = updated;
+    }
+    return worker;
+  }
+
+  private synchronized void deregister(AtomicLong sequence) {
+    workerSequences =
+        Arrays.stream(workerSequences).filter(s -> s != sequence).toArray(AtomicLong[]::new);
+  }
+
+  // Unclaimed slots are protected by the work sequence, claimed ones by each worker's sequence.
+  private long gatingSequence() {
+    long minimum = workSequence.get() - 1;
+    for (AtomicLong sequence : workerSequences) {
+      minimum = Math.min(minimum, sequence.get());
+    }
+    return minimum;
+  }
+
+  public class Worker implements AutoCloseable {
+
+    private final AtomicLong sequence;
+
+    private Worker(AtomicLong sequence) {
+      this.sequence = sequence;
+    }
+
+    /**
+     * Claims up to {@code max} published records and passes each to the handler. Returns the number
+     * handled, 0 if none are available yet, or -1 once the stream is complete and drained.
+     */
+    @SuppressWarnings("unchecked")
+    public int poll(int max, Consumer<T> handler) {
+      long first;
+      long last;
+      do {
+        first = workSequence.get();
+        // Everything before the next unclaimed sequence is finished with by this worker.
+        sequence.set(first - 1);
+        final long available = cursor.get();
+        if (first > available) {
+          return first > finalSequence ? -1 : 0;
+        }
+        last = Math.min(first + max - 1, available);
+      } while (!workSequence.compareAndSet(first, last + 1));
+
+      for (long s = first; s <= last; s++) {
+        handler.accept((T) entries[(int) (s & mask)]);
+      }
+      sequence.set(last);
+      return (int) (last - first + 1);
+    }
+
+    @Override
+    public void close() {
+      deregister(sequence);
+    }
+  }
+}
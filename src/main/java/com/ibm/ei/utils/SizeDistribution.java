@@ -0,0 +1,134 @@
+package com.ibm.ei.utils;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A distribution of sizes in bytes, parsed from a spec of one of the forms:
+ *
+ * <ul>
+ *   <li>{@code 1024} or {@code fixed:1k} - always the same size
+ *   <li>{@code uniform:100-10k} - uniformly between two sizes (inclusive)
+ *   <li>{@code buckets:100,1k,10k} or {@code buckets:100=5,1k=3,10k=2} - one of a set of sizes,
+ *       optionally weighted
+ *   <li>{@code lognormal:1k,0.5} - log-normal with the given median and sigma
+ * </ul>
+ *
+ * Sizes accept a {@code k} or {@code m} suffix for KiB and MiB.
+ */
+public abstract class SizeDistribution {
+
+  public static final int MAX_SIZE = 16 * 1024 * 1024;
+
+  public abstract int next();
+
+  public static SizeDistribution parse(String spec) {
+    final String trimmed = spec.trim().toLowerCase(Locale.ROOT);
+    final int separator = trimmed.indexOf(':');
+    final String type = separator < 0 ? "fixed" : trimmed.substring(0, separator);
+    final String args = trimmed.substring(separator + 1);
+
+    switch (type) {
+      case "fixed":
+        final int size = parseSize(args);
+        return new SizeDistribution() {
+          @Override
+          public int next() {
+            return size;
+          }
+        };
+      case "uniform":
+        return uniform(args);
+      case "buckets":
+        return buckets(args);
+      case "lognormal":
+        return logNormal(args);
+      default:
+        throw new IllegalArgumentException("Unknown size distribution: " + spec);
+    }
+  }
+
+  private static SizeDistribution uniform(String args) {
+    final String[] bounds = args.split("-");
+    if (bounds.length != 2) {
+      throw new IllegalArgumentException("Expected uniform:<min>-<max> but got " + args);
+    }
+    final int min = parseSize(bounds[0]);
+    final int max = parseSize(bounds[1]);
+    if (max < min) {
+      throw new IllegalArgumentException("Uniform maximum is below the minimum: " + args);
+    }
+    return new SizeDistribution() {
+      @Override
+      public int next() {
+        return ThreadLocalRandom.current().nextInt(min, max + 1);
+      }
+    };
+  }
+
+  private static SizeDistribution buckets(String args) {
+    final String[] entries = args.split(",");
+    final int[] sizes = new int[entries.length];
+    final double[] cumulativeWeights = new double[entries.length];
+    double total = 0;
+    for (int i = 0; i < entries.length; i++) {
+      final String[] entry = entries[i].split("=");
+      sizes[i] = parseSize(entry[0]);
+      final double weight = entry.length > 1 ? Double.parseDouble(entry[1].trim()) : 1;
+      if (!Double.isFinite(weight) || weight < 0) {
+        throw new IllegalArgumentException(
+            "Bucket weights must be finite and not negative: " + args);
+      }
+      total += weight;
+      cumulativeWeights[i] = total;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("Bucket weights must add up to more than zero: " + args);
+    }
+    final double totalWeight = total;
+    return new SizeDistribution() {
+      @Override
+      public int next() {
+        final double point = ThreadLocalRandom.current().nextDouble(totalWeight);
+        int index = 0;
+        while (index < sizes.length - 1 && cumulativeWeights[index] <= point) {
+          index++;
+        }
+        return sizes[index];
+      }
+    };
+  }
+
+  private static SizeDistribution logNormal(String args) {
+    final String[] params = args.split(",");
+    if (params.length != 2) {
+      throw new IllegalArgumentException("Expected lognormal:<median>,<sigma> but got " + args);
+    }
+    final double mu = Math.log(parseSize(params[0]));
+    final double sigma = Double.parseDouble(params[1].trim());
+    if (!Double.isFinite(sigma) || sigma < 0) {
+      throw new IllegalArgumentException(
+          "Log-normal sigma must be finite and not negative: " + args);
+    }
+    return new SizeDistribution() {
+      @Override
+      public int next() {
+        final double sample = Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+        return (int) Math.min(MAX_SIZE, Math.round(sample));
+      }
+    };
+  }
+
+  private static int parseSize(String value) {
+    final String size = value.trim();
+    final char unit = size.isEmpty() ? ' ' : size.charAt(size.length() - 1);
+    final int multiplier = unit == 'k' ? 1024 : unit == 'm' ? 1024 * 1024 : 1;
+    final String digits = multiplier == 1 ? size : size.substring(0, size.length() - 1);
+    final long bytes = Long.parseLong(digits.trim()) * multiplier;
+    if (bytes < 1 || bytes > MAX_SIZE) {
+      throw new IllegalArgumentException(
+          String.format("Size %s must be between 1 and %d bytes", value, MAX_SIZE));
+    }
+    return (int) bytes;
+  }
+}
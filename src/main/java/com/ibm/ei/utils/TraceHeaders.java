@@ -0,0 +1,33 @@
+package com.ibm.ei.utils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Record headers stamped by the producer so a consumer can measure end-to-end latency and detect
+ * lost, duplicated or reordered records from each producer.
+ */
+public final class TraceHeaders {
+
+  public static final String SEND_TIME = "wg-send-time-us";
+  public static final String SEQUENCE = "wg-sequence";
+  public static final String PRODUCER_ID = "wg-producer-id";
+
+  private TraceHeaders() {}
+
+  /**
+   * Wall clock time in microseconds since the epoch, comparable across hosts with synced clocks.
+   */
+  public static long nowMicros() {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+  }
+
+  public static byte[] encode(long value) {
+    return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+  }
+
+  public static long decode(byte[] value) {
+    return ByteBuffer.wrap(value).getLong();
+  }
+}
@@ -0,0 +1,45 @@
+package com.ibm.ei.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/** How a thread waits for a {@link RingBuffer} to have room or records available. */
+public enum WaitStrategy {
+  /** Spins on the CPU. Lowest hand-off latency, but burns a core per waiting thread. */
+  BUSY_SPIN {
+    @Override
+    public void idle(int attempt) {
+      Thread.onSpinWait();
+    }
+  },
+  /** Spins briefly, then yields to other runnable threads. */
+  YIELD {
+    @Override
+    public void idle(int attempt) {
+      if (attempt < SPIN_TRIES) {
+        Thread.onSpinWait();
+      } else {
+        Thread.yield();
+      }
+    }
+  },
+  /** Spins and yields briefly, then parks. Gentlest on the CPU when stages are mismatched. */
+  PARK {
+    @Override
+    public void idle(int attempt) {
+      if (attempt < SPIN_TRIES) {
+        Thread.onSpinWait();
+      } else if (attempt < SPIN_TRIES * 2) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(PARK_NANOS);
+      }
+    }
+  };
+
+  private static final int SPIN_TRIES = 100;
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  /** Waits once. {@code attempt} counts the consecutive waits since there was last progress. */
+  public abstract void idle(int attempt);
+}
@@ -0,0 +1,68 @@
+package com.ibm.ei.consumer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class SequenceTrackerTest {
+
+  @Test
+  public void inOrderStreamHasNoAnomalies() {
+    final SequenceTracker tracker = new SequenceTracker();
+    for (long sequence = 0; sequence < 100; sequence++) {
+      tracker.record(0, sequence);
+    }
+    assertCounts(tracker, 100, 0, 0, 0);
+  }
+
+  @Test
+  public void countsGapsBelowTheHighestSequence() {
+    final SequenceTracker tracker = new SequenceTracker();
+    tracker.record(0, 0);
+    tracker.record(0, 1);
+    tracker.record(0, 4);
+    assertCounts(tracker, 3, 2, 0, 0);
+
+    // A late arrival fills its gap, but is reordered within the partition.
+    tracker.record(0, 2);
+    assertCounts(tracker, 4, 1, 0, 1);
+  }
+
+  @Test
+  public void countsDuplicatesOnceReceived() {
+    final SequenceTracker tracker = new SequenceTracker();
+    tracker.record(0, 0);
+    tracker.record(0, 1);
+    tracker.record(0, 1);
+    tracker.record(1, 0);
+    assertCounts(tracker, 4, 0, 2, 0);
+  }
+
+  @Test
+  public void outOfOrderAcrossPartitionsIsNotReordering() {
+    final SequenceTracker tracker = new SequenceTracker();
+    tracker.record(0, 1);
+    tracker.record(0, 3);
+    tracker.record(1, 0);
+    tracker.record(1, 2);
+    assertCounts(tracker, 4, 0, 0, 0);
+  }
+
+  @Test
+  public void outOfOrderWithinAPartitionIsReordering() {
+    final SequenceTracker tracker = new SequenceTracker();
+    tracker.record(0, 0);
+    tracker.record(0, 2);
+    tracker.record(0, 1);
+    tracker.record(0, 3);
+    assertCounts(tracker, 4, 0, 0, 1);
+  }
+
+  private static void assertCounts(
+      SequenceTracker tracker, long received, long missing, long duplicates, long reordered) {
+    assertEquals("received", received, tracker.getReceived());
+    assertEquals("missing", missing, tracker.getMissing());
+    assertEquals("duplicates", duplicates, tracker.getDuplicates());
+    assertEquals("reordered", reordered, tracker.getReordered());
+  }
+}
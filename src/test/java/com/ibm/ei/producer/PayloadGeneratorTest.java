@@ -0,0 +1,116 @@
+package com.ibm.ei.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.github.jknack.handlebars.HandlebarsException;
+import com.ibm.ei.producer.config.PayloadConfig;
+import com.ibm.ei.utils.Configuration;
+import com.ibm.ei.utils.Filler;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PayloadGeneratorTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void nestedRepeatsKeepTheirOwnIndex() throws Exception {
+    final PayloadGenerator generator =
+        generator(
+            "[{{#repeat count=2}}{\"in\":[{{#repeat count=3}}{{@index}}{{/repeat}}],"
+                + "\"outer\":{{@index}} }{{/repeat}}]{{@index}}");
+
+    assertEquals(
+        "[{\"in\":[0,1,2],\"outer\":0 },{\"in\":[0,1,2],\"outer\":1 }]",
+        generator.generatePayload());
+  }
+
+  @Test
+  public void repeatSeparatesItemsWithinRange() throws Exception {
+    final PayloadGenerator generator =
+        generator("{\"items\": [{{#repeat min=1 max=5}}{\"n\": {{@index}} }{{/repeat}}]}");
+
+    for (int i = 0; i < 200; i++) {
+      final JSONArray items = new JSONObject(generator.generatePayload()).getJSONArray("items");
+      assertTrue(items.length() >= 1 && items.length() <= 5);
+      for (int n = 0; n < items.length(); n++) {
+        assertEquals(n, items.getJSONObject(n).getInt("n"));
+      }
+    }
+    assertEquals(
+        "a|a|a", generator("{{#repeat count=3 separator=\"|\"}}a{{/repeat}}").generatePayload());
+  }
+
+  @Test
+  public void maybeAcceptsNumberAndStringProbabilities() throws Exception {
+    assertEquals("yes", generator("{{#maybe p=1}}yes{{else}}no{{/maybe}}").generatePayload());
+    assertEquals("no", generator("{{#maybe p=0}}yes{{else}}no{{/maybe}}").generatePayload());
+    assertEquals("yes", generator("{{#maybe p=\"1.0\"}}yes{{/maybe}}").generatePayload());
+
+    final PayloadGenerator generator = generator("{{#maybe p=\"0.3\"}}x{{/maybe}}");
+    int hits = 0;
+    for (int i = 0; i < 2000; i++) {
+      hits += generator.generatePayload().length();
+    }
+    assertTrue("Rendered " + hits + " of 2000", hits > 450 && hits < 750);
+  }
+
+  @Test
+  public void maybeRejectsProbabilitiesOutsideZeroToOne() throws Exception {
+    for (String p : new String[] {"1.5", "-0.1", "\"2\""}) {
+      try {
+        generator("{{#maybe p=" + p + "}}x{{/maybe}}").generatePayload();
+        fail("Accepted p=" + p);
+      } catch (HandlebarsException e) {
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+      }
+    }
+  }
+
+  @Test
+  public void padReachesTheTargetUtf8Length() throws Exception {
+    final PayloadGenerator generator = generator("{}", "--record-size", "100");
+
+    for (String record : new String[] {"{}", "{\"a\":1}", "{\"name\":\"caf\u00e9 \u2603\"}"}) {
+      final String padded = generator.pad(record);
+      assertEquals(padded, 100, Filler.utf8Length(padded));
+      final JSONObject json = new JSONObject(padded);
+      assertTrue(json.has("_filler"));
+      assertEquals(new JSONObject(record).length() + 1, json.length());
+    }
+  }
+
+  @Test
+  public void padLeavesLargerRecordsUnchanged() throws Exception {
+    final PayloadGenerator generator = generator("{}", "--record-size", "20");
+
+    final String record = "{\"a\":\"0123456789abcdef\"}";
+    assertEquals(record, generator.pad(record));
+    // One byte short of room for an empty filler field.
+    assertEquals(
+        "{\"a\":\"012345\"}", generator("{}", "--record-size", "26").pad("{\"a\":\"012345\"}"));
+    assertEquals(
+        "{\"a\":\"012345\",\"_filler\":\"\"}",
+        generator("{}", "--record-size", "27").pad("{\"a\":\"012345\"}"));
+  }
+
+  private PayloadGenerator generator(String template, String... args) throws Exception {
+    final File file = folder.newFile();
+    Files.write(file.toPath(), template.getBytes(StandardCharsets.UTF_8));
+    final List<String> argList = new ArrayList<>(Arrays.asList("-f", file.getAbsolutePath()));
+    argList.addAll(Arrays.asList(args));
+    return new PayloadGenerator(
+        PayloadConfig.createPayloadConfig(new Configuration(argList.toArray(new String[0]))));
+  }
+}
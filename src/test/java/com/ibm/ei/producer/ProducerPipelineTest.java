@@ -0,0 +1,116 @@
+package com.ibm.ei.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.ibm.ei.producer.sink.MemorySink;
+import com.ibm.ei.producer.sink.Sink;
+import com.ibm.ei.producer.sink.SinkFactory;
+import com.ibm.ei.producer.sink.Sinks;
+import com.ibm.ei.utils.RingBuffer;
+import com.ibm.ei.utils.WaitStrategy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ProducerPipelineTest {
+
+  @Test(timeout = 30000)
+  public void producersSendEveryRecordExactlyOnce() throws Exception {
+    final MemorySink sink = new MemorySink();
+    final SendMetrics metrics = new SendMetrics();
+    final RunControl control = new RunControl(-1, metrics);
+    final RingBuffer<String> ring = new RingBuffer<>(64, WaitStrategy.PARK);
+    final ProducerPool producers = new ProducerPool(control, Sinks.shared(sink), metrics, ring);
+
+    producers.resize(4);
+    final Set<String> expected = publish(ring, 10000);
+    producers.awaitTermination();
+    control.shutdown();
+
+    final List<String> records = sink.getRecords();
+    assertEquals(10000, records.size());
+    assertEquals(expected, new HashSet<>(records));
+    assertEquals(10000, producers.messageCount());
+    assertEquals(10000, metrics.getAcked());
+    assertEquals(0, metrics.getErrors());
+  }
+
+  @Test(timeout = 30000)
+  public void throttledProducersHoldTheirRate() throws Exception {
+    final MemorySink sink = new MemorySink();
+    final SendMetrics metrics = new SendMetrics();
+    // 2 producers at 1000 records/s each take about half a second for 1000 records.
+    final RunControl control = new RunControl(1000, metrics);
+    final RingBuffer<String> ring = new RingBuffer<>(64, WaitStrategy.PARK);
+    final ProducerPool producers = new ProducerPool(control, Sinks.shared(sink), metrics, ring);
+
+    final long start = System.nanoTime();
+    producers.resize(2);
+    publish(ring, 1000);
+    producers.awaitTermination();
+    final long elapsedMillis = (System.nanoTime() - start) / 1000000;
+    control.shutdown();
+
+    assertEquals(1000, sink.getRecords().size());
+    assertTrue("Finished in " + elapsedMillis + " ms", elapsedMillis >= 350);
+  }
+
+  @Test(timeout = 30000)
+  public void stoppedProducersReleaseTheirSinks() throws Exception {
+    final MemorySink sink = new MemorySink();
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger released = new AtomicInteger();
+    final SinkFactory sinks =
+        new SinkFactory() {
+          @Override
+          public Sink create() {
+            created.incrementAndGet();
+            return sink;
+          }
+
+          @Override
+          public void release(Sink sink) {
+            released.incrementAndGet();
+          }
+
+          @Override
+          public void close() {}
+        };
+    final SendMetrics metrics = new SendMetrics();
+    final RunControl control = new RunControl(-1, metrics);
+    final RingBuffer<String> ring = new RingBuffer<>(64, WaitStrategy.PARK);
+    final ProducerPool producers = new ProducerPool(control, sinks, metrics, ring);
+
+    producers.resize(2);
+    producers.resize(0);
+    producers.resize(3);
+    publish(ring, 1000);
+    producers.awaitTermination();
+    control.shutdown();
+
+    assertEquals(5, created.get());
+    assertEquals(5, released.get());
+    assertEquals(1000, sink.getRecords().size());
+  }
+
+  private static Set<String> publish(RingBuffer<String> ring, int count)
+      throws InterruptedException {
+    final Set<String> published = new HashSet<>();
+    int next = 0;
+    while (next < count) {
+      final int batch = Math.min(GeneratorThread.BATCH_SIZE, count - next);
+      final long highest = ring.claim(batch);
+      for (long sequence = highest - batch + 1; sequence <= highest; sequence++) {
+        final String record = String.format("{\"id\":%d}", next++);
+        ring.set(sequence, record);
+        published.add(record);
+      }
+      ring.publish(highest);
+    }
+    ring.complete();
+    return published;
+  }
+}
@@ -0,0 +1,69 @@
+package com.ibm.ei.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.ibm.ei.producer.config.ProducerConfig;
+import com.ibm.ei.producer.config.SearchConfig;
+import com.ibm.ei.producer.sink.MemorySink;
+import com.ibm.ei.producer.sink.NullSink;
+import com.ibm.ei.producer.sink.Sinks;
+import com.ibm.ei.utils.Configuration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class SaturationSearchTest {
+
+  private static final List<String> PAYLOADS = Arrays.asList("{\"id\":0}", "{\"id\":1}");
+
+  @Test(timeout = 60000)
+  public void triesTheMaximumRateWhenTheRangeIsNotAMultipleOfTheStep() throws Exception {
+    final Configuration args = search("STEP");
+    final MemorySink sink = new MemorySink();
+
+    final Optional<Integer> best =
+        new SaturationSearch(
+                ProducerConfig.createProducerConfig(args),
+                SearchConfig.createSearchConfig(args),
+                Sinks.shared(sink),
+                PAYLOADS)
+            .run();
+
+    assertEquals(Optional.of(250), best);
+    // Roughly 100 + 200 + 250 records over the three one-second steps, plus the warm-up record.
+    assertTrue(sink.getRecords().size() > 400);
+    assertTrue(new HashSet<>(PAYLOADS).containsAll(sink.getRecords()));
+  }
+
+  @Test(timeout = 60000)
+  public void findsNoRateWhenLatencyIsOverTheSlo() throws Exception {
+    final Configuration args = search("BINARY");
+
+    final Optional<Integer> best =
+        new SaturationSearch(
+                ProducerConfig.createProducerConfig(args),
+                SearchConfig.createSearchConfig(args),
+                Sinks.shared(new NullSink(100)),
+                PAYLOADS)
+            .run();
+
+    assertFalse(best.isPresent());
+  }
+
+  private static Configuration search(String strategy) throws Exception {
+    return new Configuration(
+        new String[] {
+          "--mode", "SEARCH",
+          "--search-strategy", strategy,
+          "--search-min-rate", "100",
+          "--search-max-rate", "250",
+          "--search-step", "100",
+          "--search-step-duration", "1",
+          "--slo-latency", "50"
+        });
+  }
+}
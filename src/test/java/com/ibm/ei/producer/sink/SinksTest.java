@@ -0,0 +1,71 @@
+package com.ibm.ei.producer.sink;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.ibm.ei.producer.config.ProducerConfig;
+import com.ibm.ei.producer.config.SinkConfig;
+import com.ibm.ei.utils.Configuration;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SinksTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void kafkaFactoryReusesReleasedSinks() throws Exception {
+    try (SinkFactory factory = kafkaFactory()) {
+      final Sink first = factory.create();
+      final Sink second = factory.create();
+      assertNotSame(first, second);
+
+      factory.release(first);
+      assertSame(first, factory.create());
+      final Sink third = factory.create();
+      assertNotSame(first, third);
+      assertNotSame(second, third);
+    }
+  }
+
+  @Test
+  public void kafkaFactoryCreatesNothingOnceClosed() throws Exception {
+    final SinkFactory factory = kafkaFactory();
+    final Sink sink = factory.create();
+    factory.close();
+    // A sink released after the factory closed is closed rather than pooled.
+    factory.release(sink);
+    try {
+      factory.create();
+      fail("Created a sink after the factory closed");
+    } catch (IOException expected) {
+      // Expected.
+    }
+  }
+
+  // Kafka producers don't connect until the first send, so no broker is needed.
+  private SinkFactory kafkaFactory() throws Exception {
+    final File config = folder.newFile("producer.config");
+    Files.write(
+        config.toPath(),
+        Arrays.asList(
+            "bootstrap.servers=localhost:9092",
+            "key.serializer=org.apache.kafka.common.serialization.StringSerializer",
+            "value.serializer=org.apache.kafka.common.serialization.StringSerializer"),
+        StandardCharsets.UTF_8);
+    final Configuration args =
+        new Configuration(
+            new String[] {
+              "--sink", "KAFKA", "-t", "test", "-c", config.getAbsolutePath(), "--stamp-headers"
+            });
+    return Sinks.createFactory(
+        SinkConfig.createSinkConfig(args), ProducerConfig.createProducerConfig(args));
+  }
+}
@@ -0,0 +1,199 @@
+package com.ibm.ei.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.Test;
+
+public class RingBufferTest {
+
+  @Test
+  public void pollReturnsMinusOneOnlyOnceCompleteAndDrained() throws Exception {
+    final RingBuffer<Integer> ring = new RingBuffer<>(4, WaitStrategy.PARK);
+    final RingBuffer<Integer>.Worker worker = ring.register();
+    final List<Integer> seen = new ArrayList<>();
+
+    assertEquals(0, worker.poll(4, seen::add));
+    publish(ring, 0, 2);
+    assertEquals(1, worker.poll(1, seen::add));
+    ring.complete();
+    assertEquals(1, worker.poll(4, seen::add));
+    assertEquals(-1, worker.poll(4, seen::add));
+    assertEquals(-1, worker.poll(4, seen::add));
+    assertEquals(Arrays.asList(0, 1), seen);
+  }
+
+  @Test
+  public void pollReturnsMinusOneWhenCompletedEmpty() {
+    final RingBuffer<Integer> ring = new RingBuffer<>(4, WaitStrategy.PARK);
+    final RingBuffer<Integer>.Worker worker = ring.register();
+    ring.complete();
+    assertEquals(-1, worker.poll(4, value -> {}));
+  }
+
+  @Test(timeout = 10000)
+  public void publisherWaitsForSlotsStillHeldByAWorker() throws Exception {
+    final RingBuffer<Integer> ring = new RingBuffer<>(4, WaitStrategy.PARK);
+    final RingBuffer<Integer>.Worker worker = ring.register();
+    publish(ring, 0, 4);
+
+    final AtomicLong claimed = new AtomicLong(-1);
+    final Thread publisher =
+        new Thread(
+            () -> {
+              try {
+                final long sequence = ring.claim(1);
+                claimed.set(sequence);
+                ring.set(sequence, 4);
+                ring.publish(sequence);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    publisher.start();
+
+    final List<Integer> seen = new ArrayList<>();
+    assertEquals(
+        4,
+        worker.poll(
+            4,
+            value -> {
+              // The whole batch is held until the handler returns, so the ring is still full.
+              LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+              assertEquals(-1, claimed.get());
+              seen.add(value);
+            }));
+    publisher.join();
+    assertEquals(4, claimed.get());
+    assertEquals(1, worker.poll(4, seen::add));
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4), seen);
+  }
+
+  @Test(timeout = 60000)
+  public void workersReceiveEveryRecordExactlyOnce() throws Exception {
+    for (WaitStrategy waitStrategy : Arrays.asList(WaitStrategy.YIELD, WaitStrategy.PARK)) {
+      final RingBuffer<Integer> ring = new RingBuffer<>(16, waitStrategy);
+      final int records = 50000;
+      final AtomicIntegerArray counts = new AtomicIntegerArray(records);
+
+      final List<Thread> workers = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        workers.add(drain(ring.register(), 1 + i * 5, counts, 0));
+      }
+      publish(ring, 0, records);
+      ring.complete();
+      for (Thread worker : workers) {
+        worker.join();
+      }
+      assertExactlyOnce(counts);
+    }
+  }
+
+  @Test(timeout = 60000)
+  public void slowWorkerIsNotOverwrittenOnWrapAround() throws Exception {
+    final RingBuffer<Integer> ring = new RingBuffer<>(8, WaitStrategy.PARK);
+    final int records = 5000;
+    final AtomicIntegerArray counts = new AtomicIntegerArray(records);
+
+    final Thread slow = drain(ring.register(), 8, counts, TimeUnit.MICROSECONDS.toNanos(200));
+    final Thread fast = drain(ring.register(), 1, counts, 0);
+    publish(ring, 0, records);
+    ring.complete();
+    slow.join();
+    fast.join();
+    assertExactlyOnce(counts);
+  }
+
+  @Test(timeout = 60000)
+  public void workersCanJoinAndLeaveMidStream() throws Exception {
+    final RingBuffer<Integer> ring = new RingBuffer<>(16, WaitStrategy.PARK);
+    final int records = 20000;
+    final AtomicIntegerArray counts = new AtomicIntegerArray(records);
+
+    final Thread steady = drain(ring.register(), 4, counts, 0);
+    final RingBuffer<Integer>.Worker leaving = ring.register();
+    final AtomicBoolean firstHalfPublished = new AtomicBoolean(false);
+    final Thread leaver =
+        new Thread(
+            () -> {
+              // Leaves part way through, or once the steady worker has taken the first half.
+              int handled = 0;
+              while (handled < 1000 && !firstHalfPublished.get()) {
+                handled += Math.max(0, leaving.poll(4, value -> counts.incrementAndGet(value)));
+              }
+              leaving.close();
+            });
+    leaver.start();
+
+    publish(ring, 0, records / 2);
+    firstHalfPublished.set(true);
+    leaver.join();
+    final Thread joiner = drain(ring.register(), 4, counts, 0);
+    publish(ring, records / 2, records);
+    ring.complete();
+
+    steady.join();
+    joiner.join();
+    assertExactlyOnce(counts);
+  }
+
+  // Publishes the values from (inclusive) to to (exclusive), in batches of up to 8.
+  private static void publish(RingBuffer<Integer> ring, int from, int to)
+      throws InterruptedException {
+    int next = from;
+    while (next < to) {
+      final int batch = Math.min(8, Math.min(ring.getCapacity(), to - next));
+      final long highest = ring.claim(batch);
+      for (long sequence = highest - batch + 1; sequence <= highest; sequence++) {
+        ring.set(sequence, next++);
+      }
+      ring.publish(highest);
+    }
+  }
+
+  // Starts a thread polling the worker until the stream ends, counting each value received.
+  private static Thread drain(
+      RingBuffer<Integer>.Worker worker, int batch, AtomicIntegerArray counts, long delayNanos) {
+    final Thread thread =
+        new Thread(
+            () -> {
+              try (RingBuffer<Integer>.Worker w = worker) {
+                int idle = 0;
+                int polled;
+                while ((polled =
+                        w.poll(
+                            batch,
+                            value -> {
+                              if (delayNanos > 0) {
+                                LockSupport.parkNanos(delayNanos);
+                              }
+                              counts.incrementAndGet(value);
+                            }))
+                    >= 0) {
+                  if (polled == 0) {
+                    WaitStrategy.PARK.idle(idle++);
+                  } else {
+                    idle = 0;
+                  }
+                }
+              }
+            });
+    thread.start();
+    return thread;
+  }
+
+  private static void assertExactlyOnce(AtomicIntegerArray counts) {
+    for (int i = 0; i < counts.length(); i++) {
+      assertEquals("Record " + i + " received", 1, counts.get(i));
+    }
+    assertTrue(counts.length() > 0);
+  }
+}
@@ -0,0 +1,89 @@
+package com.ibm.ei.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+public class SizeDistributionTest {
+
+  @Test
+  public void parsesFixedSizesWithSuffixes() {
+    assertEquals(1024, SizeDistribution.parse("1024").next());
+    assertEquals(1024, SizeDistribution.parse("fixed:1k").next());
+    assertEquals(1024, SizeDistribution.parse(" FIXED:1K ").next());
+    assertEquals(2 * 1024 * 1024, SizeDistribution.parse("2m").next());
+    assertEquals(SizeDistribution.MAX_SIZE, SizeDistribution.parse("16m").next());
+  }
+
+  @Test
+  public void uniformStaysWithinItsBoundsInclusive() {
+    final SizeDistribution sizes = SizeDistribution.parse("uniform:10-12");
+    final Set<Integer> seen = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      seen.add(sizes.next());
+    }
+    assertEquals(new HashSet<>(Arrays.asList(10, 11, 12)), seen);
+  }
+
+  @Test
+  public void bucketsFollowTheirWeights() {
+    final SizeDistribution unweighted = SizeDistribution.parse("buckets:100,1k");
+    final SizeDistribution zeroWeight = SizeDistribution.parse("buckets:100=0,1k=1");
+    final SizeDistribution weighted = SizeDistribution.parse("buckets:100=3,1k=1");
+    int small = 0;
+    for (int i = 0; i < 4000; i++) {
+      final int size = unweighted.next();
+      assertTrue(size == 100 || size == 1024);
+      assertEquals(1024, zeroWeight.next());
+      small += weighted.next() == 100 ? 1 : 0;
+    }
+    assertTrue("Drew 100 bytes " + small + " of 4000 times", small > 2800 && small < 3200);
+  }
+
+  @Test
+  public void logNormalIsCentredOnItsMedian() {
+    assertEquals(1024, SizeDistribution.parse("lognormal:1k,0").next());
+
+    final SizeDistribution sizes = SizeDistribution.parse("lognormal:1k,0.5");
+    int below = 0;
+    for (int i = 0; i < 4000; i++) {
+      final int size = sizes.next();
+      assertTrue(size >= 0 && size <= SizeDistribution.MAX_SIZE);
+      below += size < 1024 ? 1 : 0;
+    }
+    assertTrue("Drew below the median " + below + " of 4000 times", below > 1800 && below < 2200);
+  }
+
+  @Test
+  public void rejectsInvalidSpecs() {
+    final String[] specs = {
+      "0",
+      "17m",
+      "abc",
+      "normal:1k",
+      "uniform:1k",
+      "uniform:2k-1k",
+      "buckets:100=-1",
+      "buckets:100=0",
+      "buckets:100=NaN",
+      "buckets:100=Infinity",
+      "lognormal:1k",
+      "lognormal:1k,-1",
+      "lognormal:1k,NaN",
+      "lognormal:1k,Infinity"
+    };
+    for (String spec : specs) {
+      try {
+        SizeDistribution.parse(spec);
+        fail("Accepted " + spec);
+      } catch (IllegalArgumentException expected) {
+        // Expected.
+      }
+    }
+  }
+}